@@ -0,0 +1,39 @@
+package com.linovelib.reader;
+
+import android.app.Application;
+import android.content.ComponentCallbacks2;
+
+import com.linovelib.reader.api.LinovelibAPI;
+import com.linovelib.reader.api.RequestScheduler;
+import com.linovelib.reader.log.AndroidLogger;
+import com.linovelib.reader.log.Log;
+
+import java.util.Arrays;
+
+public class ReaderApplication extends Application {
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        // core 模組的日誌轉發到 logcat
+        Log.setLogger(new AndroidLogger());
+
+        // 網路層需在任何頁面發出請求前完成初始化
+        LinovelibAPI.init(getCacheDir(), getFilesDir(),
+                Arrays.asList(getResources().getStringArray(R.array.mirror_hosts)));
+
+        // 在介面載入的同時預熱連線
+        RequestScheduler.getInstance().submit(RequestScheduler.Priority.BACKGROUND,
+                () -> LinovelibAPI.getInstance().prewarm());
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        // 退到背景後進程隨時可能被終止，不等延遲寫回，立即保存 Cookie
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN) {
+            RequestScheduler.getInstance().submit(RequestScheduler.Priority.BACKGROUND,
+                    () -> LinovelibAPI.getInstance().flushCookies());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.linovelib.reader;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.Registry;
+import com.bumptech.glide.annotation.GlideModule;
+import com.bumptech.glide.integration.okhttp3.OkHttpUrlLoader;
+import com.bumptech.glide.load.model.GlideUrl;
+import com.bumptech.glide.module.AppGlideModule;
+import com.linovelib.reader.api.LinovelibAPI;
+
+import java.io.InputStream;
+
+/**
+ * 讓 Glide 使用與 API 相同的連線池和 DNS 快取，封面和插圖不必另外建立連線
+ */
+@GlideModule
+public final class ReaderGlideModule extends AppGlideModule {
+
+    @Override
+    public void registerComponents(@NonNull Context context, @NonNull Glide glide, @NonNull Registry registry) {
+        registry.replace(GlideUrl.class, InputStream.class,
+                new OkHttpUrlLoader.Factory(LinovelibAPI.getInstance().getImageClient()));
+    }
+
+    @Override
+    public boolean isManifestParsingEnabled() {
+        return false;
+    }
+}
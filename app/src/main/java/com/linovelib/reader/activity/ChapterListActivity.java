@@ -4,6 +4,7 @@ import android.content.Intent;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.View;
+import android.widget.Button;
 import android.widget.ProgressBar;
 import android.widget.Toast;
 
@@ -14,10 +15,11 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.linovelib.reader.R;
 import com.linovelib.reader.adapter.ChapterListAdapter;
 import com.linovelib.reader.api.LinovelibAPI;
+import com.linovelib.reader.api.RequestScheduler;
 import com.linovelib.reader.model.Chapter;
 import com.linovelib.reader.model.Volume;
-import com.linovelib.reader.parser.LinovelibParser;
 
+import java.util.Collections;
 import java.util.List;
 
 public class ChapterListActivity extends AppCompatActivity {
@@ -25,6 +27,7 @@ public class ChapterListActivity extends AppCompatActivity {
 
     private RecyclerView recyclerView;
     private ProgressBar progressBar;
+    private Button retryButton;
     private ChapterListAdapter adapter;
     private String novelId;
 
@@ -35,6 +38,8 @@ public class ChapterListActivity extends AppCompatActivity {
 
         recyclerView = findViewById(R.id.recyclerView);
         progressBar = findViewById(R.id.progressBar);
+        retryButton = findViewById(R.id.retryButton);
+        retryButton.setOnClickListener(v -> loadChapterList());
 
         novelId = getIntent().getStringExtra("novel_id");
 
@@ -58,14 +63,20 @@ public class ChapterListActivity extends AppCompatActivity {
     private void loadChapterList() {
         progressBar.setVisibility(View.VISIBLE);
         recyclerView.setVisibility(View.GONE);
+        retryButton.setVisibility(View.GONE);
+        adapter.setVolumes(Collections.emptyList());
 
-        new Thread(() -> {
+        RequestScheduler.getInstance().submit(RequestScheduler.Priority.BROWSE, () -> {
             try {
-                String html = LinovelibAPI.getInstance().fetchCatalog(novelId);
-                List<Volume> volumes = LinovelibParser.parseCatalog(html);
+                // 每解析完一卷就顯示，長目錄不必等整頁下載和解析完成
+                List<Volume> volumes = LinovelibAPI.getInstance().loadCatalog(novelId,
+                        volume -> runOnUiThread(() -> {
+                            adapter.addVolume(volume);
+                            progressBar.setVisibility(View.GONE);
+                            recyclerView.setVisibility(View.VISIBLE);
+                        }));
 
                 runOnUiThread(() -> {
-                    adapter.setVolumes(volumes);
                     progressBar.setVisibility(View.GONE);
                     recyclerView.setVisibility(View.VISIBLE);
 
@@ -75,11 +86,15 @@ public class ChapterListActivity extends AppCompatActivity {
                 });
             } catch (Exception e) {
                 Log.e(TAG, "Error loading chapters", e);
+                // 已逐卷顯示的部分目錄不完整，清空後改為顯示重試
                 runOnUiThread(() -> {
+                    adapter.setVolumes(Collections.emptyList());
                     progressBar.setVisibility(View.GONE);
+                    recyclerView.setVisibility(View.GONE);
+                    retryButton.setVisibility(View.VISIBLE);
                     Toast.makeText(this, "載入失敗：" + e.getMessage(), Toast.LENGTH_SHORT).show();
                 });
             }
-        }).start();
+        });
     }
 }
@@ -0,0 +1,149 @@
+package com.linovelib.reader.activity;
+
+import android.os.Bundle;
+import android.util.Log;
+import android.widget.Button;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import com.linovelib.reader.R;
+import com.linovelib.reader.api.DataUsageLedger;
+import com.linovelib.reader.api.Endpoint;
+import com.linovelib.reader.api.FaultInjector;
+import com.linovelib.reader.api.LinovelibAPI;
+import com.linovelib.reader.api.RequestScheduler;
+import com.linovelib.reader.database.ChapterCacheDao;
+import com.linovelib.reader.fixture.FixtureRecorder;
+import com.linovelib.reader.metrics.Metrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * 調試頁面：顯示各階段耗時直方圖摘要和網路統計，並可導出到文件；也可清除本地章節快取
+ */
+public class DebugActivity extends AppCompatActivity {
+    private static final String TAG = "DebugActivity";
+
+    private TextView tvMetrics;
+    private Button btnFault;
+    private Button btnRecord;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_debug);
+        setTitle(R.string.debug_title);
+
+        tvMetrics = findViewById(R.id.tvMetrics);
+        Button btnRefresh = findViewById(R.id.btnRefresh);
+        Button btnReset = findViewById(R.id.btnReset);
+        Button btnExport = findViewById(R.id.btnExport);
+
+        btnRefresh.setOnClickListener(v -> refresh());
+        btnReset.setOnClickListener(v -> {
+            Metrics.getInstance().reset();
+            LinovelibAPI.getInstance().getDataUsage().reset();
+            refresh();
+        });
+        btnExport.setOnClickListener(v -> export());
+
+        btnFault = findViewById(R.id.btnFault);
+        btnRecord = findViewById(R.id.btnRecord);
+        btnFault.setOnClickListener(v -> {
+            // 依次切換預設
+            FaultInjector injector = LinovelibAPI.getInstance().getFaultInjector();
+            FaultInjector.Preset[] presets = FaultInjector.Preset.values();
+            injector.applyPreset(presets[(injector.getPreset().ordinal() + 1) % presets.length]);
+            updateToggles();
+        });
+        btnRecord.setOnClickListener(v -> {
+            FixtureRecorder recorder = LinovelibAPI.getInstance().getFixtureRecorder();
+            if (recorder.getDirectory() != null) {
+                recorder.setDirectory(null);
+            } else {
+                File dir = getExternalFilesDir("fixtures");
+                recorder.setDirectory(dir != null ? dir : new File(getFilesDir(), "fixtures"));
+                Toast.makeText(this, recorder.getDirectory().getAbsolutePath(), Toast.LENGTH_LONG).show();
+            }
+            updateToggles();
+        });
+        updateToggles();
+
+        Button btnClearCache = findViewById(R.id.btnClearCache);
+        btnClearCache.setOnClickListener(v -> clearChapterCache());
+
+        refresh();
+    }
+
+    private void updateToggles() {
+        LinovelibAPI api = LinovelibAPI.getInstance();
+        btnFault.setText(getString(R.string.debug_fault,
+                api.getFaultInjector().getPreset().name().toLowerCase(Locale.US)));
+        btnRecord.setText(api.getFixtureRecorder().getDirectory() != null
+                ? R.string.debug_record_stop : R.string.debug_record_start);
+    }
+
+    private void refresh() {
+        LinovelibAPI api = LinovelibAPI.getInstance();
+        StringBuilder sb = new StringBuilder();
+        sb.append(Metrics.getInstance().report());
+        sb.append('\n');
+        sb.append(String.format(Locale.US, "%-8s %6s %6s %10s %10s %6s%n",
+                "endpoint", "req", "net", "wire", "decoded", "ratio"));
+        DataUsageLedger ledger = api.getDataUsage();
+        for (Endpoint endpoint : Endpoint.values()) {
+            DataUsageLedger.Usage usage = ledger.get(endpoint);
+            sb.append(String.format(Locale.US, "%-8s %6d %6d %10d %10d %6.2f%n",
+                    endpoint.name().toLowerCase(Locale.US),
+                    usage.getRequests(),
+                    usage.getNetworkRequests(),
+                    usage.getWireBytes(),
+                    usage.getDecodedBytes(),
+                    usage.getCompressionRatio()));
+        }
+        sb.append('\n');
+        sb.append("retries: ").append(api.getRetryCount()).append('\n');
+        sb.append("hedges: ").append(api.getHedgeCount())
+                .append(" (won ").append(api.getHedgeWinCount()).append(")\n");
+        sb.append("duplicates saved: ").append(api.getDuplicateRequestsSaved()).append('\n');
+        sb.append('\n');
+        sb.append("mirrors:\n").append(api.getMirrorSelector().report());
+        sb.append('\n');
+        sb.append("challenges: ").append(api.getChallengeBreaker().getChallengeCount())
+                .append(" (skipped ").append(api.getChallengeBreaker().getShortCircuitCount()).append(")\n");
+        sb.append(api.getChallengeBreaker().report());
+        tvMetrics.setText(sb.toString());
+    }
+
+    private void clearChapterCache() {
+        ChapterCacheDao chapterCache = new ChapterCacheDao(this);
+        RequestScheduler.getInstance().submit(RequestScheduler.Priority.BACKGROUND, () -> {
+            long bytes = chapterCache.getTotalBytes();
+            chapterCache.clearCache();
+            runOnUiThread(() -> Toast.makeText(this,
+                    getString(R.string.debug_cache_cleared, bytes / 1024), Toast.LENGTH_SHORT).show());
+        });
+    }
+
+    private void export() {
+        File dir = getExternalFilesDir(null);
+        if (dir == null) {
+            dir = getFilesDir();
+        }
+        File file = new File(dir, "metrics-" + System.currentTimeMillis() + ".txt");
+        RequestScheduler.getInstance().submit(RequestScheduler.Priority.BACKGROUND, () -> {
+            try {
+                Metrics.getInstance().dumpTo(file);
+                runOnUiThread(() -> Toast.makeText(this,
+                        getString(R.string.debug_exported, file.getAbsolutePath()), Toast.LENGTH_LONG).show());
+            } catch (IOException e) {
+                Log.e(TAG, "Error exporting metrics", e);
+                runOnUiThread(() -> Toast.makeText(this, R.string.load_error, Toast.LENGTH_SHORT).show());
+            }
+        });
+    }
+}
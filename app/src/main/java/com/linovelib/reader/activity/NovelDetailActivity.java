@@ -15,9 +15,12 @@ import androidx.appcompat.app.AppCompatActivity;
 import com.bumptech.glide.Glide;
 import com.linovelib.reader.R;
 import com.linovelib.reader.api.LinovelibAPI;
+import com.linovelib.reader.api.RequestScheduler;
 import com.linovelib.reader.database.FavoritesDao;
+import com.linovelib.reader.model.ModelCodec;
 import com.linovelib.reader.model.Novel;
-import com.linovelib.reader.parser.LinovelibParser;
+
+import java.io.IOException;
 
 public class NovelDetailActivity extends AppCompatActivity {
     private static final String TAG = "NovelDetailActivity";
@@ -42,7 +45,7 @@ public class NovelDetailActivity extends AppCompatActivity {
 
         // Get novel ID and novel object from intent
         novelId = getIntent().getStringExtra("novel_id");
-        novel = (Novel) getIntent().getSerializableExtra("novel");
+        novel = readNovelExtra();
 
         if (novel != null && novel.getNovelId() != null) {
             novelId = novel.getNovelId();
@@ -65,6 +68,22 @@ public class NovelDetailActivity extends AppCompatActivity {
         btnFavorite.setOnClickListener(v -> toggleFavorite());
     }
 
+    /**
+     * 列表頁以 ModelCodec 編碼傳入的小說，沒有或無法解碼時返回 null (之後按 novel_id 重新載入)
+     */
+    private Novel readNovelExtra() {
+        byte[] encoded = getIntent().getByteArrayExtra("novel");
+        if (encoded == null) {
+            return null;
+        }
+        try {
+            return ModelCodec.decodeNovel(encoded);
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to decode novel extra", e);
+            return null;
+        }
+    }
+
     private void initViews() {
         ivCover = findViewById(R.id.ivCover);
         tvTitle = findViewById(R.id.tvTitle);
@@ -80,10 +99,9 @@ public class NovelDetailActivity extends AppCompatActivity {
     private void loadNovelDetail() {
         progressBar.setVisibility(View.VISIBLE);
 
-        new Thread(() -> {
+        RequestScheduler.getInstance().submit(RequestScheduler.Priority.BROWSE, () -> {
             try {
-                String html = LinovelibAPI.getInstance().fetchNovelDetail(novelId);
-                Novel detailedNovel = LinovelibParser.parseNovelDetail(html);
+                Novel detailedNovel = LinovelibAPI.getInstance().loadNovelDetail(novelId);
                 detailedNovel.setNovelId(novelId);
 
                 // Merge with existing data
@@ -109,7 +127,7 @@ public class NovelDetailActivity extends AppCompatActivity {
                     Toast.makeText(this, "載入失敗：" + e.getMessage(), Toast.LENGTH_SHORT).show();
                 });
             }
-        }).start();
+        });
     }
 
     private void displayNovel(Novel novel) {
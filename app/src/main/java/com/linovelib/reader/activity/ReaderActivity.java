@@ -14,14 +14,13 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.linovelib.reader.R;
 import com.linovelib.reader.adapter.ChapterAdapter;
+import com.linovelib.reader.api.ChallengeException;
+import com.linovelib.reader.api.ChapterCachePolicy;
 import com.linovelib.reader.api.LinovelibAPI;
+import com.linovelib.reader.api.RequestScheduler;
+import com.linovelib.reader.database.ChapterCacheDao;
 import com.linovelib.reader.database.ReadingHistoryDao;
 import com.linovelib.reader.model.ChapterContent;
-import com.linovelib.reader.model.ChapterItem;
-import com.linovelib.reader.parser.LinovelibParser;
-
-import java.util.ArrayList;
-import java.util.List;
 
 public class ReaderActivity extends AppCompatActivity {
     private static final String TAG = "ReaderActivity";
@@ -37,6 +36,7 @@ public class ReaderActivity extends AppCompatActivity {
     private String chapterTitle;
     private ChapterContent currentContent;
     private ReadingHistoryDao historyDao;
+    private ChapterCacheDao chapterCache;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -46,6 +46,7 @@ public class ReaderActivity extends AppCompatActivity {
         initViews();
 
         historyDao = new ReadingHistoryDao(this);
+        chapterCache = new ChapterCacheDao(this);
 
         novelId = getIntent().getStringExtra("novel_id");
         chapterUrl = getIntent().getStringExtra("chapter_url");
@@ -100,10 +101,10 @@ public class ReaderActivity extends AppCompatActivity {
         recyclerView.setVisibility(View.GONE);
         bottomNav.setVisibility(View.GONE);
 
-        new Thread(() -> {
+        RequestScheduler.getInstance().submit(RequestScheduler.Priority.INTERACTIVE, () -> {
             try {
-                String html = LinovelibAPI.getInstance().fetchChapterContent(url);
-                ChapterContent content = LinovelibParser.parseChapterContent(html);
+                ChapterContent content = ChapterCachePolicy.load(url, chapterCache,
+                        LinovelibAPI.getInstance()::fetchChapter);
 
                 runOnUiThread(() -> {
                     currentContent = content;
@@ -111,6 +112,7 @@ public class ReaderActivity extends AppCompatActivity {
                     displayContent(content);
                     progressBar.setVisibility(View.GONE);
                     recyclerView.setVisibility(View.VISIBLE);
+                    probeImageSizes(content);
 
                     // Save reading progress
                     if (novelId != null && chapterTitle != null) {
@@ -121,28 +123,27 @@ public class ReaderActivity extends AppCompatActivity {
                 Log.e(TAG, "Error loading chapter", e);
                 runOnUiThread(() -> {
                     progressBar.setVisibility(View.GONE);
-                    Toast.makeText(this, "載入失敗：" + e.getMessage(), Toast.LENGTH_SHORT).show();
+                    if (e instanceof ChallengeException) {
+                        Toast.makeText(this, R.string.cloudflare_challenge, Toast.LENGTH_LONG).show();
+                    } else {
+                        Toast.makeText(this, "載入失敗：" + e.getMessage(), Toast.LENGTH_SHORT).show();
+                    }
                 });
             }
-        }).start();
+        });
     }
 
     private void displayContent(ChapterContent content) {
-        List<ChapterItem> items = new ArrayList<>();
-        
-        // Add Title
         String title = content.getTitle() != null ? content.getTitle() : chapterTitle;
-        items.add(new ChapterItem(ChapterItem.TYPE_TITLE, title));
-        
-        // Add content items
-        if (content.getItems() != null && !content.getItems().isEmpty()) {
-            items.addAll(content.getItems());
-        } else if (content.getContent() != null) {
-             // Fallback
-             items.add(new ChapterItem(ChapterItem.TYPE_TEXT, content.getContent()));
+
+        ChapterContent display = content;
+        if (content.getItemCount() == 0 && content.getContent() != null) {
+            // Fallback
+            display = new ChapterContent();
+            display.addText(content.getContent(), 0, content.getContent().length());
         }
-        
-        adapter.setItems(items);
+
+        adapter.setChapter(title, display);
 
         // Scroll to top or restore position if implementing precise restore logic
         recyclerView.scrollToPosition(0);
@@ -151,6 +152,21 @@ public class ReaderActivity extends AppCompatActivity {
         // But user didn't ask for persistent position fix, just image display.
     }
 
+    /**
+     * 在背景探測未標明尺寸的插圖，取得後在 UI 線程上寫入並刷新該項，圖片載入前即可按比例佔位
+     */
+    private void probeImageSizes(ChapterContent content) {
+        LinovelibAPI.getInstance().probeImageSizes(content, (index, width, height) -> runOnUiThread(() -> {
+            // 已切換到其他章節時丟棄
+            if (content != currentContent) {
+                return;
+            }
+            content.setItemDimensions(index, width, height);
+            // 位置 0 是標題
+            adapter.notifyItemChanged(index + 1);
+        }));
+    }
+
     private void toggleNavigation() {
         if (bottomNav.getVisibility() == View.VISIBLE) {
             bottomNav.setVisibility(View.GONE);
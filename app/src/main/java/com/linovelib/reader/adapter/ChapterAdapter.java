@@ -3,7 +3,6 @@ package com.linovelib.reader.adapter;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
-import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
@@ -14,14 +13,15 @@ import com.bumptech.glide.load.engine.DiskCacheStrategy;
 import com.bumptech.glide.load.model.GlideUrl;
 import com.bumptech.glide.load.model.LazyHeaders;
 import com.linovelib.reader.R;
+import com.linovelib.reader.api.LinovelibAPI;
+import com.linovelib.reader.model.ChapterContent;
 import com.linovelib.reader.model.ChapterItem;
-
-import java.util.ArrayList;
-import java.util.List;
+import com.linovelib.reader.widget.AspectRatioImageView;
 
 public class ChapterAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
 
-    private List<ChapterItem> items = new ArrayList<>();
+    private String title;
+    private ChapterContent content;
     private OnItemClickListener listener;
 
     public interface OnItemClickListener {
@@ -32,14 +32,19 @@ public class ChapterAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder
         this.listener = listener;
     }
 
-    public void setItems(List<ChapterItem> items) {
-        this.items = items;
+    /**
+     * 顯示章節：標題在最前，之後為 content 的各項
+     * 直接持有 ChapterContent，項的文本只在綁定時取出，不建立 ChapterItem
+     */
+    public void setChapter(String title, ChapterContent content) {
+        this.title = title;
+        this.content = content;
         notifyDataSetChanged();
     }
 
     @Override
     public int getItemViewType(int position) {
-        return items.get(position).getType();
+        return position == 0 ? ChapterItem.TYPE_TITLE : content.getItemType(position - 1);
     }
 
     @NonNull
@@ -59,8 +64,6 @@ public class ChapterAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder
 
     @Override
     public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
-        ChapterItem item = items.get(position);
-        
         holder.itemView.setOnClickListener(v -> {
             if (listener != null) {
                 listener.onItemClick();
@@ -68,10 +71,13 @@ public class ChapterAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder
         });
 
         if (holder instanceof TextViewHolder) {
-            ((TextViewHolder) holder).tvContent.setText(item.getContent());
+            ((TextViewHolder) holder).tvContent.setText(content.getItemText(position - 1));
         } else if (holder instanceof ImageViewHolder) {
-            GlideUrl glideUrl = new GlideUrl(item.getContent(), new LazyHeaders.Builder()
-                    .addHeader("Referer", "https://tw.linovelib.com/")
+            AspectRatioImageView ivContent = ((ImageViewHolder) holder).ivContent;
+            // 尺寸已知時先按比例佔位，載入完成後不再改變高度
+            ivContent.setAspectRatio(content.getItemWidth(position - 1), content.getItemHeight(position - 1));
+            GlideUrl glideUrl = new GlideUrl(content.getItemText(position - 1), new LazyHeaders.Builder()
+                    .addHeader("Referer", LinovelibAPI.getInstance().getBaseUrl() + "/")
                     .addHeader("User-Agent", "Mozilla/5.0 (Linux; Android 10; K) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Mobile Safari/537.36")
                     .build());
 
@@ -79,15 +85,15 @@ public class ChapterAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder
                     .load(glideUrl)
                     .diskCacheStrategy(DiskCacheStrategy.ALL)
                     .fitCenter()
-                    .into(((ImageViewHolder) holder).ivContent);
+                    .into(ivContent);
         } else if (holder instanceof TitleViewHolder) {
-            ((TitleViewHolder) holder).tvTitle.setText(item.getContent());
+            ((TitleViewHolder) holder).tvTitle.setText(title);
         }
     }
 
     @Override
     public int getItemCount() {
-        return items.size();
+        return content == null ? 0 : content.getItemCount() + 1;
     }
 
     static class TextViewHolder extends RecyclerView.ViewHolder {
@@ -100,7 +106,7 @@ public class ChapterAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder
     }
 
     static class ImageViewHolder extends RecyclerView.ViewHolder {
-        ImageView ivContent;
+        AspectRatioImageView ivContent;
 
         ImageViewHolder(View itemView) {
             super(itemView);
@@ -43,6 +43,16 @@ public class ChapterListAdapter extends RecyclerView.Adapter<RecyclerView.ViewHo
         notifyDataSetChanged();
     }
 
+    /**
+     * 在列表末尾追加一卷 (目錄逐卷解析時使用)
+     */
+    public void addVolume(Volume volume) {
+        int start = items.size();
+        items.add(volume);
+        items.addAll(volume.getChapters());
+        notifyItemRangeInserted(start, items.size() - start);
+    }
+
     @Override
     public int getItemViewType(int position) {
         if (items.get(position) instanceof Volume) {
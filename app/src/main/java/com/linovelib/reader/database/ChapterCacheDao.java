@@ -0,0 +1,240 @@
+package com.linovelib.reader.database;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import com.linovelib.reader.api.ChapterCachePolicy;
+import com.linovelib.reader.model.ChapterContent;
+import com.linovelib.reader.model.ModelCodec;
+import com.linovelib.reader.util.LinovelibUrls;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 已解析章節的本地快取
+ * 內容以 ModelCodec 編碼存為 BLOB，記錄大小、寫入時間和最後訪問時間；
+ * 大小上限、有效期和淘汰順序見 ChapterCachePolicy
+ */
+public class ChapterCacheDao implements ChapterCachePolicy.Store {
+    private static final String TAG = "ChapterCacheDao";
+    /** 預設的快取總大小上限 */
+    public static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+
+    private final DatabaseHelper dbHelper;
+    private final long maxBytes;
+
+    public ChapterCacheDao(Context context) {
+        this(context, DEFAULT_MAX_BYTES);
+    }
+
+    public ChapterCacheDao(Context context, long maxBytes) {
+        this.dbHelper = DatabaseHelper.getInstance(context);
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * 同 getChapter()
+     */
+    @Override
+    public ChapterContent get(String chapterUrl) {
+        return getChapter(chapterUrl);
+    }
+
+    /**
+     * 同 putChapter()，無法快取時略過
+     */
+    @Override
+    public void put(String chapterUrl, ChapterContent content) {
+        putChapter(chapterUrl, content);
+    }
+
+    /**
+     * 讀取快取的章節並更新訪問時間，未快取或數據無法解碼時返回 null
+     */
+    public ChapterContent getChapter(String chapterUrl) {
+        String key = key(chapterUrl);
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+
+        byte[] encoded = null;
+        Cursor cursor = db.query(DatabaseHelper.TABLE_CHAPTER_CACHE,
+                new String[]{DatabaseHelper.COL_CONTENT},
+                DatabaseHelper.COL_CHAPTER_URL + " = ?",
+                new String[]{key},
+                null, null, null);
+        if (cursor != null) {
+            if (cursor.moveToFirst()) {
+                encoded = cursor.getBlob(0);
+            }
+            cursor.close();
+        }
+        if (encoded == null) {
+            return null;
+        }
+
+        ChapterContent content;
+        try {
+            content = ModelCodec.decodeChapter(encoded);
+        } catch (IOException e) {
+            // 格式版本過新或數據損壞，丟棄後由網路重新載入
+            Log.w(TAG, "Dropping undecodable cache entry: " + key, e);
+            removeChapter(chapterUrl);
+            return null;
+        }
+
+        ContentValues values = new ContentValues();
+        values.put(DatabaseHelper.COL_LAST_ACCESS, System.currentTimeMillis());
+        db.update(DatabaseHelper.TABLE_CHAPTER_CACHE, values,
+                DatabaseHelper.COL_CHAPTER_URL + " = ?",
+                new String[]{key});
+        return content;
+    }
+
+    /**
+     * 章節是否已快取超過 ChapterCachePolicy.MAX_AGE_MILLIS (未快取時也返回 true)
+     * 過期的章節仍可讀取，用作重新載入失敗時的備用
+     */
+    @Override
+    public boolean isExpired(String chapterUrl) {
+        long cachedTime = -1;
+        Cursor cursor = dbHelper.getReadableDatabase().query(DatabaseHelper.TABLE_CHAPTER_CACHE,
+                new String[]{DatabaseHelper.COL_CACHED_TIME},
+                DatabaseHelper.COL_CHAPTER_URL + " = ?",
+                new String[]{key(chapterUrl)},
+                null, null, null);
+        if (cursor != null) {
+            if (cursor.moveToFirst()) {
+                cachedTime = cursor.getLong(0);
+            }
+            cursor.close();
+        }
+        return ChapterCachePolicy.isExpired(cachedTime, System.currentTimeMillis());
+    }
+
+    /**
+     * 保存章節 (已存在時覆蓋)，之後按預算淘汰舊章節
+     */
+    public boolean putChapter(String chapterUrl, ChapterContent content) {
+        byte[] encoded = ModelCodec.encodeChapter(content);
+        if (!ChapterCachePolicy.accepts(encoded.length, maxBytes)) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+
+        ContentValues values = new ContentValues();
+        values.put(DatabaseHelper.COL_CHAPTER_URL, key(chapterUrl));
+        values.put(DatabaseHelper.COL_CHAPTER_TITLE, content.getTitle());
+        values.put(DatabaseHelper.COL_CONTENT, encoded);
+        values.put(DatabaseHelper.COL_BYTE_SIZE, encoded.length);
+        values.put(DatabaseHelper.COL_CACHED_TIME, now);
+        values.put(DatabaseHelper.COL_LAST_ACCESS, now);
+
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            long result = db.insertWithOnConflict(DatabaseHelper.TABLE_CHAPTER_CACHE, null, values,
+                    SQLiteDatabase.CONFLICT_REPLACE);
+            if (result == -1) {
+                return false;
+            }
+            evict(db);
+            db.setTransactionSuccessful();
+            return true;
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * 移除單個章節
+     */
+    public boolean removeChapter(String chapterUrl) {
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        int result = db.delete(DatabaseHelper.TABLE_CHAPTER_CACHE,
+                DatabaseHelper.COL_CHAPTER_URL + " = ?",
+                new String[]{key(chapterUrl)});
+        return result > 0;
+    }
+
+    /**
+     * 清除全部快取
+     */
+    public boolean clearCache() {
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        int result = db.delete(DatabaseHelper.TABLE_CHAPTER_CACHE, null, null);
+        return result > 0;
+    }
+
+    /**
+     * 快取的總位元組數
+     */
+    public long getTotalBytes() {
+        return totalBytes(dbHelper.getReadableDatabase());
+    }
+
+    /**
+     * 從最久未訪問的章節開始刪除，直到總大小不超過預算
+     */
+    private void evict(SQLiteDatabase db) {
+        long total = totalBytes(db);
+        if (total <= maxBytes) {
+            return;
+        }
+        Cursor cursor = db.query(DatabaseHelper.TABLE_CHAPTER_CACHE,
+                new String[]{DatabaseHelper.COL_CHAPTER_URL, DatabaseHelper.COL_BYTE_SIZE},
+                null, null, null, null,
+                DatabaseHelper.COL_LAST_ACCESS + " ASC");
+        if (cursor == null) {
+            return;
+        }
+        // 先讀出鍵和大小並關閉游標，再逐一刪除
+        List<String> keys = new ArrayList<>();
+        List<Long> sizes = new ArrayList<>();
+        try {
+            while (cursor.moveToNext()) {
+                keys.add(cursor.getString(0));
+                sizes.add(cursor.getLong(1));
+            }
+        } finally {
+            cursor.close();
+        }
+        int count = ChapterCachePolicy.evictionCount(sizes, total, maxBytes);
+        for (int i = 0; i < count; i++) {
+            db.delete(DatabaseHelper.TABLE_CHAPTER_CACHE,
+                    DatabaseHelper.COL_CHAPTER_URL + " = ?",
+                    new String[]{keys.get(i)});
+            total -= sizes.get(i);
+        }
+        Log.d(TAG, "Evicted " + count + " chapters, cache size: " + total);
+    }
+
+    private static long totalBytes(SQLiteDatabase db) {
+        Cursor cursor = db.rawQuery("SELECT SUM(" + DatabaseHelper.COL_BYTE_SIZE + ") FROM " +
+                DatabaseHelper.TABLE_CHAPTER_CACHE, null);
+        long total = 0;
+        if (cursor != null) {
+            if (cursor.moveToFirst()) {
+                total = cursor.getLong(0);
+            }
+            cursor.close();
+        }
+        return total;
+    }
+
+    /**
+     * 快取鍵：規範化後只取路徑部分，同一章節經不同鏡像載入時共用一條記錄
+     */
+    private static String key(String chapterUrl) {
+        String url = LinovelibUrls.cacheKey(chapterUrl);
+        int schemeEnd = url.indexOf("://");
+        if (schemeEnd < 0) {
+            return url;
+        }
+        int pathStart = url.indexOf('/', schemeEnd + 3);
+        return pathStart < 0 ? "/" : url.substring(pathStart);
+    }
+}
@@ -8,7 +8,7 @@ import android.database.sqlite.SQLiteOpenHelper;
 
 public class DatabaseHelper extends SQLiteOpenHelper {
     private static final String DATABASE_NAME = "linovelib_reader.db";
-    private static final int DATABASE_VERSION = 1;
+    private static final int DATABASE_VERSION = 2;
 
     // Favorites table
     public static final String TABLE_FAVORITES = "favorites";
@@ -31,6 +31,8 @@ public class DatabaseHelper extends SQLiteOpenHelper {
     public static final String COL_CHAPTER_URL = "chapter_url";
     public static final String COL_CONTENT = "content";
     public static final String COL_CACHED_TIME = "cached_time";
+    public static final String COL_BYTE_SIZE = "byte_size";
+    public static final String COL_LAST_ACCESS = "last_access";
 
     private static DatabaseHelper instance;
 
@@ -66,20 +68,31 @@ public class DatabaseHelper extends SQLiteOpenHelper {
                 COL_SCROLL_POSITION + " INTEGER)";
         db.execSQL(createHistory);
 
-        // Create chapter cache table
+        createChapterCache(db);
+    }
+
+    /**
+     * 章節快取表：content 為 ModelCodec 編碼的 ChapterContent，按 last_access 淘汰
+     */
+    private void createChapterCache(SQLiteDatabase db) {
         String createCache = "CREATE TABLE " + TABLE_CHAPTER_CACHE + " (" +
                 COL_CHAPTER_URL + " TEXT PRIMARY KEY," +
                 COL_CHAPTER_TITLE + " TEXT," +
-                COL_CONTENT + " TEXT," +
-                COL_CACHED_TIME + " INTEGER)";
+                COL_CONTENT + " BLOB," +
+                COL_BYTE_SIZE + " INTEGER," +
+                COL_CACHED_TIME + " INTEGER," +
+                COL_LAST_ACCESS + " INTEGER)";
         db.execSQL(createCache);
+        db.execSQL("CREATE INDEX idx_chapter_cache_last_access ON " + TABLE_CHAPTER_CACHE +
+                " (" + COL_LAST_ACCESS + ")");
     }
 
     @Override
     public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
-        db.execSQL("DROP TABLE IF EXISTS " + TABLE_FAVORITES);
-        db.execSQL("DROP TABLE IF EXISTS " + TABLE_READING_HISTORY);
-        db.execSQL("DROP TABLE IF EXISTS " + TABLE_CHAPTER_CACHE);
-        onCreate(db);
+        if (oldVersion < 2) {
+            // 版本 1 的章節快取表從未寫入，直接按新結構重建；收藏和閱讀歷史保留
+            db.execSQL("DROP TABLE IF EXISTS " + TABLE_CHAPTER_CACHE);
+            createChapterCache(db);
+        }
     }
 }
@@ -18,6 +18,7 @@ import com.linovelib.reader.R;
 import com.linovelib.reader.activity.NovelDetailActivity;
 import com.linovelib.reader.adapter.NovelListAdapter;
 import com.linovelib.reader.database.FavoritesDao;
+import com.linovelib.reader.model.ModelCodec;
 import com.linovelib.reader.model.Novel;
 
 import java.util.List;
@@ -50,7 +51,7 @@ public class FavoritesFragment extends Fragment {
         adapter.setOnItemClickListener(novel -> {
             Intent intent = new Intent(requireContext(), NovelDetailActivity.class);
             intent.putExtra("novel_id", novel.getNovelId());
-            intent.putExtra("novel", novel);
+            intent.putExtra("novel", ModelCodec.encodeNovel(novel));
             startActivity(intent);
         });
 
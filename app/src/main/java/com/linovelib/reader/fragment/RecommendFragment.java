@@ -19,8 +19,9 @@ import com.linovelib.reader.R;
 import com.linovelib.reader.activity.NovelDetailActivity;
 import com.linovelib.reader.adapter.NovelListAdapter;
 import com.linovelib.reader.api.LinovelibAPI;
+import com.linovelib.reader.api.RequestScheduler;
+import com.linovelib.reader.model.ModelCodec;
 import com.linovelib.reader.model.Novel;
-import com.linovelib.reader.parser.LinovelibParser;
 
 import java.util.List;
 
@@ -51,7 +52,7 @@ public class RecommendFragment extends Fragment {
         adapter.setOnItemClickListener(novel -> {
             Intent intent = new Intent(requireContext(), NovelDetailActivity.class);
             intent.putExtra("novel_id", novel.getNovelId());
-            intent.putExtra("novel", novel);
+            intent.putExtra("novel", ModelCodec.encodeNovel(novel));
             startActivity(intent);
         });
 
@@ -63,10 +64,9 @@ public class RecommendFragment extends Fragment {
     private void loadNovels() {
         swipeRefresh.setRefreshing(true);
 
-        new Thread(() -> {
+        RequestScheduler.getInstance().submit(RequestScheduler.Priority.BROWSE, () -> {
             try {
-                String html = LinovelibAPI.getInstance().fetchHomePage();
-                List<Novel> novels = LinovelibParser.parseNovelList(html);
+                List<Novel> novels = LinovelibAPI.getInstance().loadHomeNovels();
 
                 requireActivity().runOnUiThread(() -> {
                     adapter.setNovels(novels);
@@ -83,6 +83,6 @@ public class RecommendFragment extends Fragment {
                     Toast.makeText(requireContext(), "加載失敗：" + e.getMessage(), Toast.LENGTH_SHORT).show();
                 });
             }
-        }).start();
+        });
     }
 }
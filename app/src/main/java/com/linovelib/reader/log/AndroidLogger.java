@@ -0,0 +1,15 @@
+package com.linovelib.reader.log;
+
+/**
+ * 把 core 模組的日誌轉發到 logcat
+ */
+public class AndroidLogger implements Logger {
+
+    @Override
+    public void log(int level, String tag, String message, Throwable throwable) {
+        if (throwable != null) {
+            message = message + '\n' + android.util.Log.getStackTraceString(throwable);
+        }
+        android.util.Log.println(level, tag, message);
+    }
+}
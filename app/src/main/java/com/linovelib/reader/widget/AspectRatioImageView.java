@@ -0,0 +1,56 @@
+package com.linovelib.reader.widget;
+
+import android.content.Context;
+import android.util.AttributeSet;
+
+import androidx.appcompat.widget.AppCompatImageView;
+
+/**
+ * 已知圖片寬高時按比例計算高度，圖片載入前即佔用最終大小，列表不會因載入完成而跳動
+ * 未設定比例時與普通 ImageView 相同 (由已載入的圖片決定高度)
+ */
+public class AspectRatioImageView extends AppCompatImageView {
+    private int ratioWidth;
+    private int ratioHeight;
+
+    public AspectRatioImageView(Context context) {
+        super(context);
+    }
+
+    public AspectRatioImageView(Context context, AttributeSet attrs) {
+        super(context, attrs);
+    }
+
+    public AspectRatioImageView(Context context, AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+    }
+
+    /**
+     * 設定圖片的原始寬高，任一為 0 時清除比例
+     */
+    public void setAspectRatio(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            width = 0;
+            height = 0;
+        }
+        if (width != ratioWidth || height != ratioHeight) {
+            ratioWidth = width;
+            ratioHeight = height;
+            requestLayout();
+        }
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int widthMode = MeasureSpec.getMode(widthMeasureSpec);
+        if (ratioWidth == 0 || widthMode == MeasureSpec.UNSPECIFIED) {
+            super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+            return;
+        }
+        // 與 fitCenter + adjustViewBounds 載入後的結果一致：圖片縮放到可用寬度，高度按比例
+        int width = MeasureSpec.getSize(widthMeasureSpec);
+        int contentWidth = Math.max(0, width - getPaddingLeft() - getPaddingRight());
+        int height = (int) ((long) contentWidth * ratioHeight / ratioWidth) + getPaddingTop() + getPaddingBottom();
+        setMeasuredDimension(width, resolveSize(height, heightMeasureSpec));
+    }
+}
@@ -0,0 +1,63 @@
+package com.linovelib.reader.benchmark;
+
+import com.linovelib.reader.model.Volume;
+import com.linovelib.reader.parser.LinovelibParser;
+
+import org.jsoup.Jsoup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 目錄解析耗時隨章節數的變化，應大致成線性
+ * 目錄頁由 CorpusGenerator 按章節數生成，結構與語料中的目錄頁相同
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogBenchmark {
+
+    @Param({"1000", "5000", "10000"})
+    public int chapters;
+
+    private String html;
+    private String url;
+
+    @Setup
+    public void setUp() {
+        html = CorpusGenerator.catalog(chapters);
+        url = Corpus.url(Corpus.CATALOG);
+    }
+
+    /**
+     * 先建立完整 DOM 再單次遍歷
+     */
+    @Benchmark
+    public List<Volume> parseCatalog() {
+        return LinovelibParser.parseCatalog(Jsoup.parse(html, url));
+    }
+
+    /**
+     * 與 LinovelibAPI.loadCatalog(novelId, listener) 相同的串流路徑，處理過的章節即從 DOM 移除
+     */
+    @Benchmark
+    public List<Volume> readCatalogStreaming() throws IOException {
+        return LinovelibParser.readCatalog(new StringReader(html), url, null);
+    }
+}
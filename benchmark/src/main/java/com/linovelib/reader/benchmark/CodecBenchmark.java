@@ -0,0 +1,154 @@
+package com.linovelib.reader.benchmark;
+
+import com.linovelib.reader.model.ChapterContent;
+import com.linovelib.reader.model.ModelCodec;
+import com.linovelib.reader.model.Novel;
+import com.linovelib.reader.model.Volume;
+import com.linovelib.reader.parser.LinovelibParser;
+
+import org.jsoup.Jsoup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 章節、目錄和小說詳情的編解碼耗時
+ * 名稱以 Serialization 結尾的是 Java 序列化，作為對照；編碼後的大小在 setUp 中輸出
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodecBenchmark {
+
+    /** 語料來源，錄製的夾具可用 -p corpus=<目錄> 指定 */
+    @Param({Corpus.GENERATED})
+    public String corpus;
+
+    private ChapterContent chapter;
+    private ArrayList<Volume> volumes;
+    private Novel novel;
+
+    private byte[] chapterEncoded;
+    private byte[] volumesEncoded;
+    private byte[] novelEncoded;
+    private byte[] chapterSerialized;
+    private byte[] volumesSerialized;
+    private byte[] novelSerialized;
+
+    @Setup
+    public void setUp() throws Exception {
+        Corpus loaded = Corpus.load(corpus);
+        chapter = HeapBenchmark.chapter(loaded).call();
+        volumes = new ArrayList<>(LinovelibParser.parseCatalog(
+                Jsoup.parse(loaded.get(Corpus.CATALOG), Corpus.url(Corpus.CATALOG))));
+        novel = LinovelibParser.parseNovelDetail(Jsoup.parse(loaded.get(Corpus.DETAIL), Corpus.url(Corpus.DETAIL)));
+
+        chapterEncoded = ModelCodec.encodeChapter(chapter);
+        volumesEncoded = ModelCodec.encodeVolumes(volumes);
+        novelEncoded = ModelCodec.encodeNovel(novel);
+        chapterSerialized = serialize(chapter);
+        volumesSerialized = serialize(volumes);
+        novelSerialized = serialize(novel);
+
+        System.out.println();
+        System.out.println("Encoded size (codec / serialization): chapter "
+                + chapterEncoded.length + " / " + chapterSerialized.length
+                + ", volumes " + volumesEncoded.length + " / " + volumesSerialized.length
+                + ", novel " + novelEncoded.length + " / " + novelSerialized.length);
+    }
+
+    @Benchmark
+    public byte[] encodeChapter() {
+        return ModelCodec.encodeChapter(chapter);
+    }
+
+    @Benchmark
+    public byte[] encodeChapterSerialization() throws IOException {
+        return serialize(chapter);
+    }
+
+    @Benchmark
+    public ChapterContent decodeChapter() throws IOException {
+        return ModelCodec.decodeChapter(chapterEncoded);
+    }
+
+    @Benchmark
+    public Object decodeChapterSerialization() throws Exception {
+        return deserialize(chapterSerialized);
+    }
+
+    @Benchmark
+    public byte[] encodeVolumes() {
+        return ModelCodec.encodeVolumes(volumes);
+    }
+
+    @Benchmark
+    public byte[] encodeVolumesSerialization() throws IOException {
+        return serialize(volumes);
+    }
+
+    @Benchmark
+    public List<Volume> decodeVolumes() throws IOException {
+        return ModelCodec.decodeVolumes(volumesEncoded);
+    }
+
+    @Benchmark
+    public Object decodeVolumesSerialization() throws Exception {
+        return deserialize(volumesSerialized);
+    }
+
+    @Benchmark
+    public byte[] encodeNovel() {
+        return ModelCodec.encodeNovel(novel);
+    }
+
+    @Benchmark
+    public byte[] encodeNovelSerialization() throws IOException {
+        return serialize(novel);
+    }
+
+    @Benchmark
+    public Novel decodeNovel() throws IOException {
+        return ModelCodec.decodeNovel(novelEncoded);
+    }
+
+    @Benchmark
+    public Object decodeNovelSerialization() throws Exception {
+        return deserialize(novelSerialized);
+    }
+
+    private static byte[] serialize(Serializable value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] data) throws Exception {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            return in.readObject();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.linovelib.reader.benchmark;
+
+import com.linovelib.reader.parser.ContentLocator;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 在已建好的章節頁 DOM 上定位內容區、標題和上下章連結的耗時 (不含建立 DOM)
+ * selectFirstChain 是改用 ContentLocator 之前的做法，作為對照
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContentLocatorBenchmark {
+
+    /** 語料來源，錄製的夾具可用 -p corpus=<目錄> 指定 */
+    @Param({Corpus.GENERATED})
+    public String corpus;
+
+    private List<Document> pages;
+    private ContentLocator locator;
+
+    @Setup
+    public void setUp() throws IOException {
+        Corpus loaded = Corpus.load(corpus);
+        List<String> html = loaded.chapterPages();
+        List<String> urls = loaded.chapterPageUrls();
+        pages = new ArrayList<>(html.size());
+        for (int i = 0; i < html.size(); i++) {
+            pages.add(Jsoup.parse(html.get(i), urls.get(i)));
+        }
+        locator = new ContentLocator();
+    }
+
+    @Benchmark
+    public void contentLocator(Blackhole blackhole) {
+        for (int i = 0; i < pages.size(); i++) {
+            blackhole.consume(locator.locate(pages.get(i), i == 0, i == pages.size() - 1));
+        }
+    }
+
+    @Benchmark
+    public void selectFirstChain(Blackhole blackhole) {
+        for (int i = 0; i < pages.size(); i++) {
+            Document doc = pages.get(i);
+            if (i == 0) {
+                blackhole.consume(doc.selectFirst("#cf-wrapper, .cf-wrapper"));
+                blackhole.consume(doc.selectFirst("h1, h2.chapter-title, div.chapter-title"));
+            }
+            Element content = doc.selectFirst("#acontent");
+            if (content == null) content = doc.selectFirst("div.acontent");
+            if (content == null) content = doc.selectFirst("#TextContent");
+            if (content == null) content = doc.selectFirst("div.content");
+            if (content == null) content = doc.selectFirst("div.chapter-content");
+            if (content == null) content = doc.selectFirst("div#content");
+            blackhole.consume(content);
+            if (i == 0) {
+                blackhole.consume(doc.selectFirst("a:contains(上一章), a.prev, a#pt_prev"));
+            }
+            if (i == pages.size() - 1) {
+                blackhole.consume(doc.selectFirst("a:contains(下一章), a.next, a#pt_next"));
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.linovelib.reader.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 基準和性能預算共用的頁面語料
+ * 頁面名即 FixtureServer 的相對路徑，因此錄製的夾具目錄可直接作為語料：
+ * 指定目錄時從該目錄讀取，否則使用 CorpusGenerator 生成的當前版本
+ */
+public final class Corpus {
+    /** 生成語料的標識，包含生成規則的版本 */
+    public static final String GENERATED = "generated-v" + CorpusGenerator.VERSION;
+    public static final String HOME = "index.html";
+    public static final String DETAIL = "novel/4649.html";
+    public static final String CATALOG = "novel/4649/catalog.html";
+
+    private static final String BASE_URL = "https://tw.linovelib.com/";
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final Map<String, String> pages;
+    private final String description;
+
+    private Corpus(Map<String, String> pages, String description) {
+        this.pages = Collections.unmodifiableMap(pages);
+        this.description = description;
+    }
+
+    /**
+     * 按系統屬性 corpus.dir 載入，未設定時使用生成的語料
+     */
+    public static Corpus load() throws IOException {
+        return load(System.getProperty("corpus.dir"));
+    }
+
+    /**
+     * @param source 錄製的夾具目錄；null、空字串或 GENERATED 表示生成的語料
+     */
+    public static Corpus load(String source) throws IOException {
+        if (source == null || source.isEmpty() || source.equals(GENERATED)) {
+            Map<String, String> pages = new LinkedHashMap<>();
+            CorpusGenerator.generate(pages);
+            return new Corpus(pages, GENERATED);
+        }
+        if (source.startsWith("generated-v")) {
+            throw new IllegalArgumentException("Corpus " + source + " is not available, current is " + GENERATED);
+        }
+        return loadDirectory(new File(source));
+    }
+
+    private static Corpus loadDirectory(File root) throws IOException {
+        Map<String, String> pages = new LinkedHashMap<>();
+        for (String name : new String[]{HOME, DETAIL, CATALOG}) {
+            pages.put(name, read(new File(root, name)));
+        }
+        for (int page = 1; ; page++) {
+            File file = new File(root, chapterPage(page));
+            if (!file.isFile()) {
+                break;
+            }
+            pages.put(chapterPage(page), read(file));
+        }
+        return new Corpus(pages, "dir:" + root.getPath());
+    }
+
+    /**
+     * 章節第 page 頁 (從 1 開始) 的頁面名
+     */
+    public static String chapterPage(int page) {
+        return page == 1
+                ? "novel/4649/" + CorpusGenerator.FIRST_CHAPTER_ID + ".html"
+                : "novel/4649/" + CorpusGenerator.FIRST_CHAPTER_ID + "_" + page + ".html";
+    }
+
+    /**
+     * 頁面原本的 URL，用作解析時的 baseUri
+     */
+    public static String url(String name) {
+        return name.equals(HOME) ? BASE_URL : BASE_URL + name;
+    }
+
+    /**
+     * 語料來源，寫入結果以區分不同語料上的數據
+     */
+    public String describe() {
+        return description;
+    }
+
+    public Map<String, String> pages() {
+        return pages;
+    }
+
+    public String get(String name) {
+        String html = pages.get(name);
+        if (html == null) {
+            throw new IllegalArgumentException("No page " + name + " in corpus " + description);
+        }
+        return html;
+    }
+
+    public List<String> chapterPages() {
+        List<String> result = new ArrayList<>();
+        for (int page = 1; pages.containsKey(chapterPage(page)); page++) {
+            result.add(get(chapterPage(page)));
+        }
+        return result;
+    }
+
+    public List<String> chapterPageUrls() {
+        List<String> result = new ArrayList<>();
+        for (int page = 1; pages.containsKey(chapterPage(page)); page++) {
+            result.add(url(chapterPage(page)));
+        }
+        return result;
+    }
+
+    private static String read(File file) throws IOException {
+        try (InputStream in = new FileInputStream(file)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream((int) file.length());
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), UTF_8);
+        }
+    }
+}
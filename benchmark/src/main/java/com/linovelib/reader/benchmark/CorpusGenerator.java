@@ -0,0 +1,224 @@
+package com.linovelib.reader.benchmark;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 生成基準用的頁面語料
+ * 結構取自 fixtures/ 中錄製的頁面 (含頁首、導航、腳本和廣告位等外圍元素)，
+ * 規模放大到實際遇到的上限：2000 章的目錄、10 頁且帶插圖的章節
+ *
+ * 固定種子生成，同一 VERSION 的輸出逐字節相同；改動生成規則時必須遞增 VERSION，
+ * 使前後的基準結果不會被誤作同一語料比較
+ */
+public final class CorpusGenerator {
+    public static final int VERSION = 1;
+
+    static final int HOME_NOVELS = 60;
+    static final int CATALOG_CHAPTERS = 2000;
+    static final int CHAPTERS_PER_VOLUME = 40;
+    static final int CHAPTER_PAGES = 10;
+    static final int PARAGRAPHS_PER_PAGE = 45;
+    static final int NOVEL_ID = 4649;
+    static final int FIRST_CHAPTER_ID = 269999;
+
+    private static final String BASE_URL = "https://tw.linovelib.com";
+    private static final String HANZI = "的一是在不了有和人這中大為上個國我以要他時來用們生到作地於出就分對成會可主發年動同工也能下過子說產種面而方後多定行學法所民得經十三之進著等部度家電力裡如水化高自二理起小物現實加量都兩體制機當使點從業本去把性好應開它合還因由其些然前外天政四日那社義事平形相全表間樣與關各重新線內數正心反你明看原又麼利比或但質氣第向道命此變條只沒結解問意建月公無系軍很情者最立代想已通並提直題黨程展五果料象員革位入常文總次品式活設及管特件長求老頭基資邊流路級少圖山統接知較將組見計別她手角期根論運農指幾九區強放決西被幹做必戰先回則任取據處府研質";
+
+    private final Random random = new Random(VERSION * 31L + 7);
+
+    private CorpusGenerator() {
+    }
+
+    /**
+     * 生成全部頁面，鍵為 Corpus 中的頁面名
+     */
+    static void generate(Map<String, String> pages) {
+        CorpusGenerator generator = new CorpusGenerator();
+        pages.put(Corpus.HOME, generator.homePage());
+        pages.put(Corpus.DETAIL, generator.detailPage());
+        pages.put(Corpus.CATALOG, generator.catalogPage(CATALOG_CHAPTERS));
+        for (int page = 1; page <= CHAPTER_PAGES; page++) {
+            pages.put(Corpus.chapterPage(page), generator.chapterPage(page));
+        }
+    }
+
+    /**
+     * 指定章節數的目錄頁，結構與語料中的目錄頁相同，用於測量目錄解析隨規模的變化
+     */
+    static String catalog(int chapters) {
+        return new CorpusGenerator().catalogPage(chapters);
+    }
+
+    private String homePage() {
+        StringBuilder sb = new StringBuilder();
+        header(sb, "嗶哩輕小說");
+        sb.append("<div class=\"module\">\n<div class=\"module-header\"><h2>編輯推薦</h2></div>\n")
+                .append("<div class=\"module-slide\">\n");
+        for (int i = 0; i < HOME_NOVELS; i++) {
+            int id = NOVEL_ID + i;
+            sb.append("<a class=\"module-slide-a\" href=\"/novel/").append(id).append(".html\">\n")
+                    .append("<img class=\"module-slide-img\" data-src=\"/files/article/image/4/").append(id)
+                    .append('/').append(id).append("s.jpg\" src=\"/images/loading.svg\" alt=\"")
+                    .append(text(8)).append("\">\n")
+                    .append("<figcaption class=\"module-slide-caption\">").append(text(6 + random.nextInt(20)))
+                    .append("</figcaption>\n")
+                    .append("<p class=\"module-slide-author\"><span class=\"gray\">").append(text(3 + random.nextInt(4)))
+                    .append("</span></p>\n</a>\n");
+        }
+        sb.append("</div>\n</div>\n");
+        footer(sb);
+        return sb.toString();
+    }
+
+    private String detailPage() {
+        StringBuilder sb = new StringBuilder();
+        header(sb, text(12) + " - 嗶哩輕小說");
+        sb.append("<div class=\"book-layout\">\n")
+                .append("<div class=\"book-img\"><img src=\"/files/article/image/4/4649/4649s.jpg\" alt=\"封面\"></div>\n")
+                .append("<div class=\"book-info\">\n<h1 class=\"book-title\">").append(text(12)).append("</h1>\n")
+                .append("<div class=\"book-rand-a\">\n")
+                .append("<a href=\"/authorarticle/a.html\">").append(text(4)).append("</a>\n")
+                .append("<a href=\"/illustratorarticle/b.html\">").append(text(3)).append("</a>\n")
+                .append("<a href=\"/translatorarticle/c.html\">").append(text(3)).append("</a>\n")
+                .append("</div>\n<div class=\"score\">9.1</div>\n<div class=\"book-label\">\n");
+        for (int i = 0; i < 8; i++) {
+            sb.append("<a href=\"/tagarticle/").append(i).append(".html\">").append(text(2)).append("</a>\n");
+        }
+        sb.append("</div>\n</div>\n<div class=\"book-intro\">");
+        for (int i = 0; i < 6; i++) {
+            sb.append(text(40 + random.nextInt(40))).append("<br>\n");
+        }
+        sb.append("</div>\n<a class=\"btn-catalog\" href=\"/novel/4649/catalog\">目錄</a>\n</div>\n");
+        footer(sb);
+        return sb.toString();
+    }
+
+    private String catalogPage(int chapters) {
+        StringBuilder sb = new StringBuilder();
+        header(sb, text(12) + " 目錄 - 嗶哩輕小說");
+        sb.append("<div id=\"volumes\">\n<ul class=\"volume-chapters\">\n");
+        int chapterId = FIRST_CHAPTER_ID;
+        for (int i = 0; i < chapters; i++) {
+            if (i % CHAPTERS_PER_VOLUME == 0) {
+                sb.append("<li class=\"chapter-bar chapter-li\"><h3>第").append(i / CHAPTERS_PER_VOLUME + 1)
+                        .append("卷 ").append(text(6)).append("</h3></li>\n");
+            }
+            sb.append("<li class=\"chapter-li jsChapter\"><a href=\"/novel/4649/").append(chapterId++)
+                    .append(".html\" class=\"chapter-li-a \"><span class=\"chapter-index \">")
+                    .append(text(4 + random.nextInt(12))).append("</span></a></li>\n");
+        }
+        sb.append("</ul>\n</div>\n");
+        footer(sb);
+        return sb.toString();
+    }
+
+    private String chapterPage(int page) {
+        String chapterUrl = "/novel/4649/" + FIRST_CHAPTER_ID;
+        String nextPage = page < CHAPTER_PAGES
+                ? chapterUrl + "_" + (page + 1) + ".html"
+                : "/novel/4649/" + (FIRST_CHAPTER_ID + 1) + ".html";
+
+        StringBuilder sb = new StringBuilder();
+        header(sb, "第一章 " + text(8) + " - 嗶哩輕小說");
+        sb.append("<div class=\"mlfy_main\">\n<h1 id=\"atitle\">第一章 ").append(text(8))
+                .append("（").append(page).append('/').append(CHAPTER_PAGES).append("）</h1>\n")
+                .append("<div id=\"acontent\" class=\"acontent\">\n");
+        for (int i = 0; i < PARAGRAPHS_PER_PAGE; i++) {
+            // 每頁中間和結尾各一張插圖，另有少量廣告位和換行分段
+            if (i == PARAGRAPHS_PER_PAGE / 2) {
+                sb.append("<div class=\"divimage\"><img src=\"/images/loading.svg\" data-src=\"")
+                        .append("https://img3.readpai.com/4/4649/").append(FIRST_CHAPTER_ID).append('/')
+                        .append(page).append("-1.jpg\" alt=\"插圖\"></div>\n")
+                        .append("<div class=\"google-auto-placed\"><ins class=\"adsbygoogle\"></ins></div>\n");
+            }
+            if (i % 15 == 7) {
+                sb.append("<p>").append(text(20)).append("<br>").append(text(30)).append("</p>\n");
+            } else {
+                sb.append("<p>　　").append(text(20 + random.nextInt(120))).append("</p>\n");
+            }
+        }
+        sb.append("<div class=\"divimage\"><img src=\"https://img3.readpai.com/4/4649/").append(FIRST_CHAPTER_ID)
+                .append('/').append(page).append("-2.jpg\" alt=\"插圖\"></div>\n")
+                .append("<script>zation();</script>\n</div>\n<div class=\"mlfy_page\">\n");
+        if (page == 1) {
+            sb.append("<a id=\"pt_prev\" href=\"/novel/4649/catalog\">上一章</a>\n");
+        } else {
+            sb.append("<a href=\"").append(page == 2 ? chapterUrl + ".html" : chapterUrl + "_" + (page - 1) + ".html")
+                    .append("\">上一頁</a>\n");
+        }
+        sb.append("<a href=\"/novel/4649/catalog\">目錄</a>\n");
+        if (page == CHAPTER_PAGES) {
+            sb.append("<a id=\"pt_next\" href=\"").append(nextPage).append("\">下一章</a>\n");
+        } else {
+            sb.append("<a href=\"").append(nextPage).append("\">下一頁</a>\n");
+        }
+        sb.append("</div>\n</div>\n<script>var ReadParams={url_previous:'/novel/4649/catalog',url_next:'")
+                .append(nextPage).append("',articleid:'4649',chapterid:'").append(FIRST_CHAPTER_ID)
+                .append("',page:'").append(page).append("'};</script>\n");
+        footer(sb);
+        return sb.toString();
+    }
+
+    private void header(StringBuilder sb, String title) {
+        sb.append("<!DOCTYPE html>\n<html lang=\"zh-Hant\">\n<head>\n<meta charset=\"utf-8\">\n")
+                .append("<meta name=\"viewport\" content=\"width=device-width, initial-scale=1\">\n")
+                .append("<title>").append(title).append("</title>\n")
+                .append("<link rel=\"stylesheet\" href=\"/themes/zhmb/css/style.css\">\n")
+                .append("<script src=\"/themes/zhmb/js/jquery.min.js\"></script>\n")
+                .append("<style>.hide{display:none}</style>\n</head>\n<body>\n")
+                .append("<header class=\"header\"><div class=\"header-l\"><a href=\"/\" class=\"logo\">嗶哩輕小說</a></div>\n")
+                .append("<div class=\"header-r\"><a href=\"/search.html\">搜索</a><a href=\"/user.php\">我的</a></div></header>\n")
+                .append("<nav class=\"nav\">");
+        for (int i = 0; i < 8; i++) {
+            sb.append("<a href=\"/wenku/").append(i).append("\">").append(text(2)).append("</a>");
+        }
+        sb.append("</nav>\n<div class=\"ads\"><script>ads_top();</script></div>\n");
+    }
+
+    private void footer(StringBuilder sb) {
+        sb.append("<footer class=\"footer\"><p>").append(text(30)).append("</p></footer>\n")
+                .append("<script>var _hmt=_hmt||[];(function(){var hm=document.createElement('script');")
+                .append("hm.src='https://hm.baidu.com/hm.js';document.body.appendChild(hm);})();</script>\n")
+                .append("</body>\n</html>\n");
+    }
+
+    private String text(int length) {
+        StringBuilder sb = new StringBuilder(length + length / 12);
+        for (int i = 0; i < length; i++) {
+            sb.append(HANZI.charAt(random.nextInt(HANZI.length())));
+            if (i % 12 == 11 && i < length - 1) {
+                sb.append(i % 24 == 23 ? '。' : '，');
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 把語料寫到目錄，便於檢視或用 FixtureServer 回放：CorpusGenerator <輸出目錄>
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: CorpusGenerator <output-dir>");
+            System.exit(1);
+        }
+        File root = new File(args[0]);
+        for (Map.Entry<String, String> entry : Corpus.load().pages().entrySet()) {
+            File file = new File(root, entry.getKey());
+            File parent = file.getParentFile();
+            if (!parent.isDirectory() && !parent.mkdirs()) {
+                throw new IOException("Cannot create " + parent);
+            }
+            try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), Charset.forName("UTF-8"))) {
+                writer.write(entry.getValue());
+            }
+        }
+        System.out.println("Wrote corpus v" + VERSION + " to " + root);
+    }
+}
@@ -0,0 +1,98 @@
+package com.linovelib.reader.benchmark;
+
+import com.linovelib.reader.model.ChapterContent;
+import com.linovelib.reader.model.ChapterItem;
+import com.linovelib.reader.parser.LinovelibParser;
+
+import org.jsoup.nodes.Document;
+
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+
+/**
+ * 解析後的章節常駐堆大小
+ * 同時保留多份結果，以 GC 後已用堆的增量除以份數得出每份的大小；
+ * legacyLayout 是改為緊湊表示之前的結構 (每項一個 ChapterItem 和 String，另存一份全文)，作為對照
+ *
+ * 用法：HeapBenchmark，語料來源同 Corpus.load()
+ */
+public final class HeapBenchmark {
+    private static final int COPIES = 200;
+    private static final int GC_ROUNDS = 5;
+
+    private HeapBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Corpus corpus = Corpus.load();
+        Callable<ChapterContent> chapter = chapter(corpus);
+
+        long compact = retainedBytes(chapter, COPIES);
+        long legacy = retainedBytes(() -> new LegacyChapter(chapter.call()), COPIES);
+        System.out.println(String.format(Locale.US, "%-14s %10d bytes", "compact", compact));
+        System.out.println(String.format(Locale.US, "%-14s %10d bytes", "legacyLayout", legacy));
+        System.out.println(String.format(Locale.US, "%-14s %10.2f", "ratio", (double) compact / legacy));
+    }
+
+    /**
+     * 與 LinovelibAPI 相同的路徑：逐頁串流讀取，再組裝章節
+     */
+    static Callable<ChapterContent> chapter(Corpus corpus) {
+        List<String> pages = corpus.chapterPages();
+        List<String> urls = corpus.chapterPageUrls();
+        return () -> {
+            List<Document> documents = new ArrayList<>(pages.size());
+            for (int i = 0; i < pages.size(); i++) {
+                documents.add(LinovelibParser.readChapterPage(new StringReader(pages.get(i)), urls.get(i)));
+            }
+            return LinovelibParser.parseChapterContent(documents);
+        };
+    }
+
+    /**
+     * 每份 factory 結果常駐的平均位元組數
+     */
+    static long retainedBytes(Callable<?> factory, int copies) throws Exception {
+        // 先調用一次，排除類載入和靜態快取等一次性佔用
+        factory.call();
+        Object[] retained = new Object[copies];
+        long before = usedHeapAfterGc();
+        for (int i = 0; i < copies; i++) {
+            retained[i] = factory.call();
+        }
+        long after = usedHeapAfterGc();
+        for (Object value : retained) {
+            if (value == null) {
+                throw new IllegalStateException("Factory returned null");
+            }
+        }
+        return (after - before) / copies;
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < GC_ROUNDS; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * 舊的 ChapterContent 結構：ChapterItem 列表加上拼接好的全文
+     */
+    private static final class LegacyChapter {
+        final List<ChapterItem> items;
+        final String content;
+
+        LegacyChapter(ChapterContent chapter) {
+            items = new ArrayList<>(chapter.getItems());
+            content = chapter.getContent();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.linovelib.reader.benchmark;
+
+import com.linovelib.reader.model.ChapterContent;
+import com.linovelib.reader.model.Novel;
+import com.linovelib.reader.model.Volume;
+import com.linovelib.reader.parser.ChapterPage;
+import com.linovelib.reader.parser.LinovelibParser;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LinovelibParser 各入口從 HTML 字串到結果的耗時，包含 Jsoup 建立 DOM 的時間
+ * 分配率用 -prof gc 測量 (gradle :benchmark:jmh 預設開啟)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+
+    /** 語料來源，會記錄在結果中：生成語料的版本，或用 -p corpus=<目錄> 指定錄製的夾具 */
+    @Param({Corpus.GENERATED})
+    public String corpus;
+
+    private String home;
+    private String detail;
+    private String catalog;
+    private List<String> chapterPages;
+    private List<String> chapterUrls;
+    private ExecutorService parseExecutor;
+
+    @Setup
+    public void setUp() throws IOException {
+        Corpus loaded = Corpus.load(corpus);
+        home = loaded.get(Corpus.HOME);
+        detail = loaded.get(Corpus.DETAIL);
+        catalog = loaded.get(Corpus.CATALOG);
+        chapterPages = loaded.chapterPages();
+        chapterUrls = loaded.chapterPageUrls();
+        // 與 LinovelibAPI 的解析線程池相同的大小
+        parseExecutor = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+    }
+
+    @TearDown
+    public void tearDown() {
+        parseExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public List<Novel> parseNovelList() {
+        return LinovelibParser.parseNovelList(Jsoup.parse(home, Corpus.url(Corpus.HOME)));
+    }
+
+    @Benchmark
+    public Novel parseNovelDetail() {
+        return LinovelibParser.parseNovelDetail(Jsoup.parse(detail, Corpus.url(Corpus.DETAIL)));
+    }
+
+    @Benchmark
+    public List<Volume> parseCatalog() {
+        return LinovelibParser.parseCatalog(Jsoup.parse(catalog, Corpus.url(Corpus.CATALOG)));
+    }
+
+    /**
+     * 完整建立每頁 DOM 後組裝章節
+     */
+    @Benchmark
+    public ChapterContent parseChapterContent() {
+        List<Document> pages = new ArrayList<>(chapterPages.size());
+        for (int i = 0; i < chapterPages.size(); i++) {
+            pages.add(Jsoup.parse(chapterPages.get(i), chapterUrls.get(i)));
+        }
+        return LinovelibParser.parseChapterContent(pages);
+    }
+
+    /**
+     * 與 LinovelibAPI 相同的串流讀取：每頁讀到所需元素即停止，之後在當前線程上逐頁提取
+     */
+    @Benchmark
+    public ChapterContent readChapterPagesStreaming() throws IOException {
+        List<Document> pages = new ArrayList<>(chapterPages.size());
+        for (int i = 0; i < chapterPages.size(); i++) {
+            pages.add(LinovelibParser.readChapterPage(new StringReader(chapterPages.get(i)), chapterUrls.get(i)));
+        }
+        return LinovelibParser.parseChapterContent(pages);
+    }
+
+    /**
+     * 與 LinovelibAPI 相同的完整路徑：串流讀取後，各頁的內容提取在線程池上並行，按頁序合併
+     */
+    @Benchmark
+    public ChapterContent readChapterPagesParallelParse() throws IOException {
+        List<ChapterPage> pages = new ArrayList<>(chapterPages.size());
+        for (int i = 0; i < chapterPages.size(); i++) {
+            pages.add(new ChapterPage(i, chapterUrls.get(i),
+                    LinovelibParser.readChapterPage(new StringReader(chapterPages.get(i)), chapterUrls.get(i))));
+        }
+        return LinovelibParser.parseChapterPages(pages, parseExecutor);
+    }
+}
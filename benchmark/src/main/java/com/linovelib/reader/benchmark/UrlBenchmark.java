@@ -0,0 +1,101 @@
+package com.linovelib.reader.benchmark;
+
+import com.linovelib.reader.util.LinovelibUrls;
+
+import org.jsoup.Jsoup;
+import org.jsoup.internal.StringUtil;
+import org.jsoup.nodes.Element;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.HttpUrl;
+
+/**
+ * 對目錄頁全部章節連結做 ID 提取、補全和規範化的耗時
+ * 名稱以 Regex / Jsoup / OkHttp 結尾的是改用 LinovelibUrls 之前的做法，作為對照
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UrlBenchmark {
+
+    /** 語料來源，錄製的夾具可用 -p corpus=<目錄> 指定 */
+    @Param({Corpus.GENERATED})
+    public String corpus;
+
+    private String baseUri;
+    private List<String> hrefs;
+    private List<String> absoluteUrls;
+
+    @Setup
+    public void setUp() throws IOException {
+        Corpus loaded = Corpus.load(corpus);
+        baseUri = Corpus.url(Corpus.CATALOG);
+        hrefs = new ArrayList<>();
+        absoluteUrls = new ArrayList<>();
+        for (Element link : Jsoup.parse(loaded.get(Corpus.CATALOG), baseUri).select("a.chapter-li-a")) {
+            hrefs.add(link.attr("href"));
+            absoluteUrls.add(link.absUrl("href"));
+        }
+    }
+
+    @Benchmark
+    public void chapterIdRegex(Blackhole blackhole) {
+        for (String href : hrefs) {
+            blackhole.consume(href.replaceAll(".*/novel/\\d+/(\\d+)\\.html.*", "$1"));
+        }
+    }
+
+    @Benchmark
+    public void chapterIdScanner(Blackhole blackhole) {
+        for (String href : hrefs) {
+            blackhole.consume(LinovelibUrls.chapterId(href));
+        }
+    }
+
+    @Benchmark
+    public void resolveJsoup(Blackhole blackhole) {
+        for (String href : hrefs) {
+            blackhole.consume(StringUtil.resolve(baseUri, href));
+        }
+    }
+
+    @Benchmark
+    public void resolveScanner(Blackhole blackhole) {
+        for (String href : hrefs) {
+            blackhole.consume(LinovelibUrls.resolve(baseUri, href));
+        }
+    }
+
+    @Benchmark
+    public void cacheKeyOkHttp(Blackhole blackhole) {
+        for (String url : absoluteUrls) {
+            blackhole.consume(HttpUrl.parse(url).newBuilder().fragment(null).build().toString());
+        }
+    }
+
+    @Benchmark
+    public void cacheKeyScanner(Blackhole blackhole) {
+        for (String url : absoluteUrls) {
+            blackhole.consume(LinovelibUrls.cacheKey(url));
+        }
+    }
+}
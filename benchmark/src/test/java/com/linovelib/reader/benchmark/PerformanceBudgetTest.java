@@ -0,0 +1,226 @@
+package com.linovelib.reader.benchmark;
+
+import com.linovelib.reader.model.ChapterContent;
+import com.linovelib.reader.parser.LinovelibParser;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 解析和章節組裝的性能預算
+ * 以 budgets.properties 中的上限檢查每章分配量、常駐堆大小、每章項數和每 KB 解析耗時，每項預算一個測試；
+ * 全部測量在類開始時跑一次，結果另寫成 JSON 報告 (系統屬性 budget.report) 以便跨構建追蹤趨勢
+ *
+ * 語料來源同 Corpus.load()
+ */
+@RunWith(Parameterized.class)
+public class PerformanceBudgetTest {
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final long WARMUP_NANOS = 2_000_000_000L;
+    private static final int WARMUP_MIN_ROUNDS = 10;
+    private static final int MEASURE_ROUNDS = 15;
+    private static final int RETAINED_COPIES = 100;
+
+    private static Properties budgets;
+    private static final Map<String, Result> results = new LinkedHashMap<>();
+
+    @Parameter
+    public String name;
+
+    @Parameters(name = "{0}")
+    public static List<Object[]> budgetNames() throws IOException {
+        List<Object[]> names = new ArrayList<>();
+        for (String name : new TreeSet<>(budgets().stringPropertyNames())) {
+            names.add(new Object[]{name});
+        }
+        return names;
+    }
+
+    @BeforeClass
+    public static void measure() throws Exception {
+        Corpus corpus = Corpus.load();
+        long chapterBytes = 0;
+        for (String page : corpus.chapterPages()) {
+            chapterBytes += page.getBytes(UTF_8).length;
+        }
+        double chapterKb = chapterBytes / 1024.0;
+
+        Callable<ChapterContent> chapter = HeapBenchmark.chapter(corpus);
+        Measurement measurement = measure(chapter);
+        record("chapter.items", chapter.call().getItemCount(), "items");
+        record("chapter.allocatedBytes", measurement.allocatedBytes, "bytes");
+        record("chapter.retainedBytes", HeapBenchmark.retainedBytes(chapter, RETAINED_COPIES), "bytes");
+        record("chapter.millisPerKb", measurement.medianMillis / chapterKb, "ms/KB");
+
+        measurePage("catalog", corpus.get(Corpus.CATALOG), Corpus.url(Corpus.CATALOG),
+                doc -> LinovelibParser.parseCatalog(doc));
+        measurePage("home", corpus.get(Corpus.HOME), Corpus.url(Corpus.HOME),
+                doc -> LinovelibParser.parseNovelList(doc));
+        measurePage("detail", corpus.get(Corpus.DETAIL), Corpus.url(Corpus.DETAIL),
+                doc -> LinovelibParser.parseNovelDetail(doc));
+
+        for (Result result : results.values()) {
+            System.out.println(String.format(Locale.US, "%-4s %-24s %14.3f / %-14.3f %s",
+                    result.passed() ? "OK" : "FAIL", result.name, result.value, result.budget, result.unit));
+        }
+        String report = System.getProperty("budget.report");
+        if (report != null) {
+            writeReport(new File(report), corpus);
+        }
+    }
+
+    @Test
+    public void withinBudget() {
+        Result result = results.get(name);
+        assertNotNull("No measurement for budget " + name, result);
+        assertTrue(String.format(Locale.US, "%s is %.3f %s, over the budget of %.3f",
+                        name, result.value, result.unit, result.budget),
+                result.passed());
+    }
+
+    private static void measurePage(String name, String html, String url, PageParser parser) throws Exception {
+        double kb = html.getBytes(UTF_8).length / 1024.0;
+        Measurement measurement = measure(() -> parser.parse(Jsoup.parse(html, url)));
+        record(name + ".allocatedBytes", measurement.allocatedBytes, "bytes");
+        record(name + ".millisPerKb", measurement.medianMillis / kb, "ms/KB");
+    }
+
+    /**
+     * 預熱至少 2 秒後取耗時中位數，分配量取單次的最小值 (排除 JIT 編譯等一次性開銷)
+     */
+    private static Measurement measure(Callable<?> task) throws Exception {
+        long warmupStart = System.nanoTime();
+        for (int i = 0; i < WARMUP_MIN_ROUNDS || System.nanoTime() - warmupStart < WARMUP_NANOS; i++) {
+            task.call();
+        }
+        long[] nanos = new long[MEASURE_ROUNDS];
+        long minAllocated = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            task.call();
+            nanos[i] = System.nanoTime() - start;
+            minAllocated = Math.min(minAllocated, allocatedBytes() - allocatedBefore);
+        }
+        Arrays.sort(nanos);
+        return new Measurement(nanos[MEASURE_ROUNDS / 2] / 1e6, minAllocated);
+    }
+
+    /**
+     * 當前線程累計分配的位元組數 (HotSpot 擴展)，不支援時返回 0
+     */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    private static void record(String name, double value, String unit) throws IOException {
+        String budget = budgets().getProperty(name);
+        if (budget == null) {
+            throw new IllegalStateException("No budget for " + name + " in budgets.properties");
+        }
+        results.put(name, new Result(name, value, Double.parseDouble(budget), unit));
+    }
+
+    private static synchronized Properties budgets() throws IOException {
+        if (budgets == null) {
+            Properties loaded = new Properties();
+            try (InputStream in = PerformanceBudgetTest.class.getResourceAsStream("budgets.properties")) {
+                loaded.load(in);
+            }
+            budgets = loaded;
+        }
+        return budgets;
+    }
+
+    private static void writeReport(File file, Corpus corpus) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (!parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Cannot create " + parent);
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\n")
+                .append("  \"corpus\": ").append(quote(corpus.describe())).append(",\n")
+                .append("  \"timestamp\": ").append(System.currentTimeMillis()).append(",\n")
+                .append("  \"java\": ").append(quote(System.getProperty("java.version"))).append(",\n")
+                .append("  \"results\": [\n");
+        int i = 0;
+        for (Result result : results.values()) {
+            sb.append(String.format(Locale.US,
+                    "    {\"name\": %s, \"value\": %.3f, \"budget\": %.3f, \"unit\": %s, \"passed\": %b}",
+                    quote(result.name), result.value, result.budget, quote(result.unit), result.passed()));
+            sb.append(++i < results.size() ? ",\n" : "\n");
+        }
+        sb.append("  ]\n}\n");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), UTF_8)) {
+            writer.write(sb.toString());
+        }
+        System.out.println("Report written to " + file.getPath());
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private interface PageParser {
+        Object parse(Document doc);
+    }
+
+    private static class Measurement {
+        final double medianMillis;
+        final long allocatedBytes;
+
+        Measurement(double medianMillis, long allocatedBytes) {
+            this.medianMillis = medianMillis;
+            this.allocatedBytes = allocatedBytes;
+        }
+    }
+
+    private static class Result {
+        final String name;
+        final double value;
+        final double budget;
+        final String unit;
+
+        Result(String name, double value, double budget, String unit) {
+            this.name = name;
+            this.value = value;
+            this.budget = budget;
+            this.unit = unit;
+        }
+
+        boolean passed() {
+            return value <= budget;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.linovelib.reader.api;
+
+import org.brotli.dec.BrotliInputStream;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ByteString;
+import okio.GzipSource;
+import okio.Okio;
+
+/**
+ * 網路攔截器：按頁面類型改寫回應的 Cache-Control，
+ * 讓 OkHttp Cache 依新鮮度直接命中，過期後再以 ETag / Last-Modified 條件請求驗證；
+ * 驗證頁和不含正文的章節頁 (錯誤頁、插頁) 保留伺服器原本的快取頭，不延長新鮮度
+ */
+class CachePolicyInterceptor implements Interceptor {
+    // 檢查正文標記時最多窺探的 (壓縮後) 位元組數
+    private static final long PEEK_BYTES = 64 * 1024;
+    private static final String CHAPTER_MARKER = "acontent";
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Response response = chain.proceed(chain.request());
+
+        if (!"GET".equals(chain.request().method())) {
+            return response;
+        }
+        // 304 的標頭會合併進快取，同樣需要改寫，否則會覆蓋掉原本的新鮮度
+        if (!response.isSuccessful() && response.code() != 304) {
+            return response;
+        }
+        // 尊重伺服器明確禁止儲存的回應
+        if (response.cacheControl().noStore()) {
+            return response;
+        }
+
+        Endpoint endpoint = Endpoint.of(chain.request().url());
+        long maxAge = endpoint.getMaxAgeSeconds();
+        if (maxAge <= 0) {
+            return response;
+        }
+        if (ChallengeBreaker.isChallenge(response)) {
+            return response;
+        }
+        // 章節頁的新鮮度最長，確認是帶正文的頁面後才延長 (304 沒有內容，沿用已快取的頁面)
+        if (endpoint == Endpoint.CHAPTER && response.code() != 304
+                && !containsMarker(response, CHAPTER_MARKER)) {
+            return response;
+        }
+
+        return response.newBuilder()
+                .header("Cache-Control", "public, max-age=" + maxAge)
+                .removeHeader("Pragma")
+                .removeHeader("Expires")
+                .build();
+    }
+
+    /**
+     * 回應開頭 (按 Content-Encoding 解壓後) 是否含有 marker
+     */
+    static boolean containsMarker(Response response, String marker) throws IOException {
+        if (response.body() == null) {
+            return false;
+        }
+        BufferedSource source = response.peekBody(PEEK_BYTES).source();
+        String encoding = response.header("Content-Encoding");
+        if ("gzip".equalsIgnoreCase(encoding)) {
+            source = Okio.buffer(new GzipSource(source));
+        } else if ("br".equalsIgnoreCase(encoding)) {
+            source = Okio.buffer(Okio.source(new BrotliInputStream(source.inputStream())));
+        } else if (encoding != null && !"identity".equalsIgnoreCase(encoding)) {
+            return false;
+        }
+
+        Buffer head = new Buffer();
+        try {
+            head.writeAll(source);
+        } catch (IOException e) {
+            // 窺探的內容被截斷時壓縮流在結尾報錯，已解出的部分仍可檢查
+        }
+        return head.indexOf(ByteString.encodeUtf8(marker)) != -1;
+    }
+}
@@ -0,0 +1,77 @@
+package com.linovelib.reader.api;
+
+import com.linovelib.reader.model.Volume;
+import com.linovelib.reader.parser.CatalogListener;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 進行中的串流目錄請求
+ * 負責請求的線程逐卷發布，合併進來的調用者在各自線程上從第一卷開始重放，之後的卷到達時繼續交付
+ */
+class CatalogStream {
+    private final List<Volume> volumes = new ArrayList<>();
+    private List<Volume> result;
+    private Throwable failure;
+    private boolean done;
+
+    synchronized void publish(Volume volume) {
+        volumes.add(volume);
+        notifyAll();
+    }
+
+    /**
+     * 請求完成；未經串流解析 (沿用上次的解析結果或合併進非串流請求) 的卷在此一次補齊
+     */
+    synchronized void complete(List<Volume> result) {
+        for (int i = volumes.size(); i < result.size(); i++) {
+            volumes.add(result.get(i));
+        }
+        this.result = result;
+        done = true;
+        notifyAll();
+    }
+
+    synchronized void fail(Throwable failure) {
+        this.failure = failure;
+        done = true;
+        notifyAll();
+    }
+
+    /**
+     * 按順序把每卷的副本交給 listener，直到請求結束；返回完整的目錄 (共用對象，交給外部前需先複製)
+     */
+    List<Volume> replay(CatalogListener listener) throws IOException {
+        int next = 0;
+        while (true) {
+            Volume volume;
+            synchronized (this) {
+                while (next >= volumes.size() && !done) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        InterruptedIOException exception = new InterruptedIOException("Interrupted while waiting for catalog");
+                        exception.initCause(e);
+                        throw exception;
+                    }
+                }
+                if (next < volumes.size()) {
+                    volume = volumes.get(next++);
+                } else if (failure == null) {
+                    return result;
+                } else if (failure instanceof IOException) {
+                    throw (IOException) failure;
+                } else if (failure instanceof RuntimeException) {
+                    throw (RuntimeException) failure;
+                } else {
+                    throw new IOException(failure);
+                }
+            }
+            listener.onVolume(volume.copy());
+        }
+    }
+}
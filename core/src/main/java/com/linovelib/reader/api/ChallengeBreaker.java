@@ -0,0 +1,206 @@
+package com.linovelib.reader.api;
+
+import com.linovelib.reader.log.Log;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Cloudflare 驗證頁的按主機熔斷器
+ * - 在 API 層根據回應頭和錯誤頁開頭的少量內容識別驗證頁，不必下載整頁再解析
+ * - 遇到驗證頁後熔斷：後台請求 (預取、下載) 只從快取取，不發往網路
+ * - 冷卻期過後放行一個後台請求探測 (半開)，通過則恢復，否則冷卻時間加倍
+ * - 用戶主動發起的請求不受限制，其結果同樣用於判斷是否恢復
+ */
+public class ChallengeBreaker {
+    private static final String TAG = "ChallengeBreaker";
+    private static final long INITIAL_COOLDOWN_MS = TimeUnit.SECONDS.toMillis(30);
+    private static final long MAX_COOLDOWN_MS = TimeUnit.MINUTES.toMillis(10);
+    private static final long PEEK_BYTES = 32 * 1024;
+    private static final String[] BODY_MARKERS = {
+            "cf-challenge", "challenge-platform", "cf-wrapper", "Just a moment", "Attention Required"
+    };
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final Map<String, HostState> hosts = new HashMap<>();
+    private final AtomicLong challengeCount = new AtomicLong();
+    private final AtomicLong shortCircuitCount = new AtomicLong();
+
+    /**
+     * 累計識別到的驗證頁數
+     */
+    public long getChallengeCount() {
+        return challengeCount.get();
+    }
+
+    /**
+     * 熔斷期間未發往網路的後台請求數
+     */
+    public long getShortCircuitCount() {
+        return shortCircuitCount.get();
+    }
+
+    /**
+     * 各主機熔斷狀態摘要，全部正常時為空
+     */
+    public synchronized String report() {
+        StringBuilder sb = new StringBuilder();
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, HostState> entry : hosts.entrySet()) {
+            HostState state = entry.getValue();
+            if (state.state != State.CLOSED) {
+                sb.append(String.format(Locale.US, "%s %s retry in %ds%n",
+                        entry.getKey(), state.state, Math.max(0, state.openUntil - now) / 1000));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 應用攔截器 (需在解壓攔截器之外，才能讀到解壓後的錯誤頁內容)
+     */
+    Interceptor interceptor() {
+        return chain -> {
+            Request request = chain.request();
+            String host = request.url().host();
+            boolean background = RequestScheduler.currentPriority() == RequestScheduler.Priority.BACKGROUND;
+
+            boolean probe = false;
+            if (background) {
+                Permit permit = tryAcquire(host);
+                if (permit == Permit.CACHE_ONLY) {
+                    return fromCacheOnly(chain, request, host);
+                }
+                probe = permit == Permit.PROBE;
+            }
+
+            Response response;
+            try {
+                response = chain.proceed(request);
+            } catch (IOException e) {
+                if (probe) {
+                    // 網路錯誤無法說明驗證是否解除，等下次冷卻後再探測
+                    abandonProbe(host);
+                }
+                throw e;
+            }
+
+            if (isChallenge(response)) {
+                response.close();
+                onChallenge(host);
+                throw new ChallengeException(host, false);
+            }
+            if (response.networkResponse() != null) {
+                onSuccess(host);
+            } else if (probe) {
+                abandonProbe(host);
+            }
+            return response;
+        };
+    }
+
+    private Response fromCacheOnly(Interceptor.Chain chain, Request request, String host) throws IOException {
+        Response cached = chain.proceed(request.newBuilder()
+                .cacheControl(CacheControl.FORCE_CACHE)
+                .build());
+        // 快取未命中時 OkHttp 返回 504
+        if (cached.code() == 504 && cached.networkResponse() == null) {
+            cached.close();
+            shortCircuitCount.incrementAndGet();
+            throw new ChallengeException(host, true);
+        }
+        return cached;
+    }
+
+    private enum Permit { ALLOW, PROBE, CACHE_ONLY }
+
+    private synchronized Permit tryAcquire(String host) {
+        HostState state = hosts.get(host);
+        if (state == null || state.state == State.CLOSED) {
+            return Permit.ALLOW;
+        }
+        if (state.state == State.OPEN && System.currentTimeMillis() >= state.openUntil) {
+            state.state = State.HALF_OPEN;
+            Log.d(TAG, "Probing " + host + " after cooldown");
+            return Permit.PROBE;
+        }
+        return Permit.CACHE_ONLY;
+    }
+
+    private synchronized void onChallenge(String host) {
+        challengeCount.incrementAndGet();
+        HostState state = hosts.get(host);
+        if (state == null) {
+            state = new HostState();
+            hosts.put(host, state);
+        }
+        if (state.state == State.HALF_OPEN) {
+            state.cooldownMs = Math.min(MAX_COOLDOWN_MS, state.cooldownMs * 2);
+        } else if (state.state == State.CLOSED) {
+            state.cooldownMs = INITIAL_COOLDOWN_MS;
+        }
+        state.state = State.OPEN;
+        state.openUntil = System.currentTimeMillis() + state.cooldownMs;
+        Log.w(TAG, "Challenge from " + host + ", pausing background requests for " + state.cooldownMs + "ms");
+    }
+
+    private synchronized void onSuccess(String host) {
+        HostState state = hosts.remove(host);
+        if (state != null) {
+            Log.i(TAG, "Challenge cleared for " + host);
+        }
+    }
+
+    private synchronized void abandonProbe(String host) {
+        HostState state = hosts.get(host);
+        if (state != null && state.state == State.HALF_OPEN) {
+            state.state = State.OPEN;
+            state.openUntil = System.currentTimeMillis() + state.cooldownMs;
+        }
+    }
+
+    /**
+     * 是否為 Cloudflare 驗證頁：明確的 cf-mitigated 頭，
+     * 或 Cloudflare 返回的 403 / 429 / 503 且頁面開頭含驗證頁特徵
+     */
+    static boolean isChallenge(Response response) {
+        if ("challenge".equalsIgnoreCase(response.header("cf-mitigated"))) {
+            return true;
+        }
+        int code = response.code();
+        if (code != 403 && code != 429 && code != 503) {
+            return false;
+        }
+        String server = response.header("Server");
+        if (server == null || !server.toLowerCase(Locale.US).contains("cloudflare")) {
+            return false;
+        }
+        try {
+            String head = response.peekBody(PEEK_BYTES).string();
+            for (String marker : BODY_MARKERS) {
+                if (head.contains(marker)) {
+                    return true;
+                }
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to inspect error page", e);
+        }
+        return false;
+    }
+
+    private static class HostState {
+        State state = State.CLOSED;
+        long openUntil;
+        long cooldownMs = INITIAL_COOLDOWN_MS;
+    }
+}
@@ -0,0 +1,31 @@
+package com.linovelib.reader.api;
+
+import java.io.IOException;
+
+/**
+ * 站點返回 Cloudflare 驗證頁，或因近期遇到驗證頁而跳過了請求
+ * 重試無法通過，調用方應提示用戶稍後再試或改用瀏覽器
+ */
+public class ChallengeException extends IOException {
+    private final String host;
+    private final boolean shortCircuited;
+
+    ChallengeException(String host, boolean shortCircuited) {
+        super(shortCircuited
+                ? "Skipped request while " + host + " is serving challenges"
+                : "Cloudflare challenge from " + host);
+        this.host = host;
+        this.shortCircuited = shortCircuited;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * 是否為熔斷期間直接跳過 (未發出網路請求)
+     */
+    public boolean isShortCircuited() {
+        return shortCircuited;
+    }
+}
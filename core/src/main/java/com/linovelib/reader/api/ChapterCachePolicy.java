@@ -0,0 +1,105 @@
+package com.linovelib.reader.api;
+
+import com.linovelib.reader.log.Log;
+import com.linovelib.reader.model.ChapterContent;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 已解析章節本地快取的規則，與儲存方式無關 (應用中由 SQLite 實現)
+ * - 單章編碼後超過 MAX_ENTRY_BYTES 或超過總預算時不快取
+ * - 寫入超過 MAX_AGE_MILLIS 的章節視為過期，有網路時重新載入，失敗時仍可作為備用
+ * - 總大小超出預算時從最久未訪問的章節開始淘汰
+ */
+public final class ChapterCachePolicy {
+    private static final String TAG = "ChapterCachePolicy";
+    /** 快取章節的有效期，與 HTTP 快取中章節頁面的 max-age 一致，過期時 HTTP 快取也會重新驗證 */
+    public static final long MAX_AGE_MILLIS = TimeUnit.SECONDS.toMillis(Endpoint.CHAPTER.getMaxAgeSeconds());
+    /** 超過此大小的章節不快取，單行需能放入 CursorWindow (預設 2MB) */
+    public static final int MAX_ENTRY_BYTES = 1024 * 1024;
+
+    private ChapterCachePolicy() {
+    }
+
+    /**
+     * 章節的本地快取
+     */
+    public interface Store {
+        /**
+         * 快取的章節，未快取或數據無法解碼時返回 null
+         */
+        ChapterContent get(String chapterUrl);
+
+        /**
+         * 章節是否已快取超過有效期 (未快取時也返回 true)
+         */
+        boolean isExpired(String chapterUrl);
+
+        void put(String chapterUrl, ChapterContent content);
+    }
+
+    /**
+     * 從網路載入章節
+     */
+    public interface Fetcher {
+        ChapterContent fetch(String chapterUrl) throws IOException;
+    }
+
+    /**
+     * 先讀本地快取，未快取、已過期或缺少下一章連結時從網路載入並寫入快取；
+     * 網路載入失敗或沒有正文時退回快取的版本 (在背景線程調用)
+     */
+    public static ChapterContent load(String chapterUrl, Store store, Fetcher fetcher) throws IOException {
+        ChapterContent cached = store.get(chapterUrl);
+        // 快取時還是最新一章的沒有下一章連結，有網路時重新載入以取得；
+        // 過期的章節也重新載入，以便取得修訂過的正文
+        if (cached != null && cached.getNextChapterUrl() != null && !store.isExpired(chapterUrl)) {
+            return cached;
+        }
+        ChapterContent fetched;
+        try {
+            fetched = fetcher.fetch(chapterUrl);
+        } catch (IOException e) {
+            if (cached == null) {
+                throw e;
+            }
+            Log.w(TAG, "Failed to refresh chapter, using cached copy", e);
+            return cached;
+        }
+        // 只快取有正文的結果，Cloudflare 提示等不寫入
+        if (fetched.getItemCount() > 0) {
+            store.put(chapterUrl, fetched);
+            return fetched;
+        }
+        return cached != null ? cached : fetched;
+    }
+
+    /**
+     * 在 cachedTime 寫入的章節到 now 時是否已過期，cachedTime 為負表示未快取
+     */
+    public static boolean isExpired(long cachedTime, long now) {
+        return cachedTime < 0 || now - cachedTime > MAX_AGE_MILLIS;
+    }
+
+    /**
+     * 編碼後 encodedBytes 大小的章節是否可以放入總預算為 maxBytes 的快取
+     */
+    public static boolean accepts(int encodedBytes, long maxBytes) {
+        return encodedBytes <= MAX_ENTRY_BYTES && encodedBytes <= maxBytes;
+    }
+
+    /**
+     * 需淘汰的章節數：按最久未訪問排序的各章大小，從頭刪除直到總大小不超過預算
+     */
+    public static int evictionCount(List<Long> sizesByLastAccess, long totalBytes, long maxBytes) {
+        int count = 0;
+        long total = totalBytes;
+        while (total > maxBytes && count < sizesByLastAccess.size()) {
+            total -= sizesByLastAccess.get(count);
+            count++;
+        }
+        return count;
+    }
+}
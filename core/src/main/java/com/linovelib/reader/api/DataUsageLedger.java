@@ -0,0 +1,136 @@
+package com.linovelib.reader.api;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+
+/**
+ * 按頁面類型統計流量
+ * - 傳輸位元組：網路上實際收到的 (壓縮後) 內容大小，快取命中不計
+ * - 解碼位元組：解壓後交給調用者讀取的內容大小
+ */
+public class DataUsageLedger {
+    private final Map<Endpoint, Usage> usages = new EnumMap<>(Endpoint.class);
+
+    DataUsageLedger() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            usages.put(endpoint, new Usage());
+        }
+    }
+
+    public Usage get(Endpoint endpoint) {
+        return usages.get(endpoint);
+    }
+
+    public void reset() {
+        for (Usage usage : usages.values()) {
+            usage.reset();
+        }
+    }
+
+    /**
+     * 應用攔截器 (需在解壓攔截器之外)：統計請求數和解碼後位元組
+     */
+    Interceptor decodedInterceptor() {
+        return chain -> {
+            Usage usage = usages.get(Endpoint.of(chain.request().url()));
+            usage.requests.incrementAndGet();
+            return countBody(chain.proceed(chain.request()), usage.decodedBytes);
+        };
+    }
+
+    /**
+     * 網路攔截器 (需在最內層)：統計網路請求數和壓縮狀態下的傳輸位元組
+     */
+    Interceptor wireInterceptor() {
+        return chain -> {
+            Usage usage = usages.get(Endpoint.of(chain.request().url()));
+            usage.networkRequests.incrementAndGet();
+            return countBody(chain.proceed(chain.request()), usage.wireBytes);
+        };
+    }
+
+    private static Response countBody(Response response, AtomicLong counter) {
+        ResponseBody body = response.body();
+        if (body == null) {
+            return response;
+        }
+        return response.newBuilder()
+                .body(new CountingResponseBody(body, counter))
+                .build();
+    }
+
+    /**
+     * 單一頁面類型的流量統計
+     */
+    public static class Usage {
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong networkRequests = new AtomicLong();
+        private final AtomicLong wireBytes = new AtomicLong();
+        private final AtomicLong decodedBytes = new AtomicLong();
+
+        public long getRequests() { return requests.get(); }
+        public long getNetworkRequests() { return networkRequests.get(); }
+        public long getWireBytes() { return wireBytes.get(); }
+        public long getDecodedBytes() { return decodedBytes.get(); }
+
+        /**
+         * 壓縮率 (傳輸 / 解碼)，沒有數據時返回 1
+         */
+        public double getCompressionRatio() {
+            long decoded = decodedBytes.get();
+            return decoded == 0 ? 1 : (double) wireBytes.get() / decoded;
+        }
+
+        void reset() {
+            requests.set(0);
+            networkRequests.set(0);
+            wireBytes.set(0);
+            decodedBytes.set(0);
+        }
+    }
+
+    private static class CountingResponseBody extends ResponseBody {
+        private final ResponseBody delegate;
+        private final BufferedSource source;
+
+        CountingResponseBody(ResponseBody delegate, AtomicLong counter) {
+            this.delegate = delegate;
+            this.source = Okio.buffer(new ForwardingSource(delegate.source()) {
+                @Override
+                public long read(Buffer sink, long byteCount) throws IOException {
+                    long read = super.read(sink, byteCount);
+                    if (read > 0) {
+                        counter.addAndGet(read);
+                    }
+                    return read;
+                }
+            });
+        }
+
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return delegate.contentLength();
+        }
+
+        @Override
+        public BufferedSource source() {
+            return source;
+        }
+    }
+}
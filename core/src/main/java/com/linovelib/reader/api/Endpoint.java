@@ -0,0 +1,74 @@
+package com.linovelib.reader.api;
+
+import com.linovelib.reader.util.LinovelibUrls;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import okhttp3.HttpUrl;
+
+/**
+ * 網站頁面類型及其快取新鮮度、請求超時
+ */
+public enum Endpoint {
+    HOME(TimeUnit.MINUTES.toSeconds(5), 10),
+    DETAIL(TimeUnit.HOURS.toSeconds(1), 10),
+    // 長篇小說的目錄頁很大，允許較長的下載時間
+    CATALOG(TimeUnit.HOURS.toSeconds(6), 20),
+    // 章節內容發佈後幾乎不會再變動；仍設上限，萬一快取了錯誤內容也會在一週內重新驗證
+    CHAPTER(TimeUnit.DAYS.toSeconds(7), 10),
+    SEARCH(0, 10),
+    // 插圖和封面由 Glide 自行快取
+    IMAGE(0, 15),
+    OTHER(0, 15);
+
+    private static final Pattern IMAGE_PATH = Pattern.compile(".*\\.(jpe?g|png|webp|gif)", Pattern.CASE_INSENSITIVE);
+
+    private final long maxAgeSeconds;
+    private final int timeoutSeconds;
+
+    Endpoint(long maxAgeSeconds, int timeoutSeconds) {
+        this.maxAgeSeconds = maxAgeSeconds;
+        this.timeoutSeconds = timeoutSeconds;
+    }
+
+    /**
+     * 快取視為新鮮的秒數，0 表示不強制快取
+     */
+    public long getMaxAgeSeconds() {
+        return maxAgeSeconds;
+    }
+
+    /**
+     * 單次請求從連線到讀完內容的整體超時秒數
+     */
+    public int getTimeoutSeconds() {
+        return timeoutSeconds;
+    }
+
+    /**
+     * 根據 URL 路徑判斷頁面類型
+     */
+    public static Endpoint of(HttpUrl url) {
+        String path = url.encodedPath();
+        if (path.equals("/")) {
+            return HOME;
+        }
+        if (LinovelibUrls.isDetailPath(path)) {
+            return DETAIL;
+        }
+        if (LinovelibUrls.isCatalogPath(path)) {
+            return CATALOG;
+        }
+        if (LinovelibUrls.isChapterPath(path)) {
+            return CHAPTER;
+        }
+        if (path.startsWith("/search")) {
+            return SEARCH;
+        }
+        if (IMAGE_PATH.matcher(path).matches()) {
+            return IMAGE;
+        }
+        return OTHER;
+    }
+}
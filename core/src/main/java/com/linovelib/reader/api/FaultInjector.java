@@ -0,0 +1,228 @@
+package com.linovelib.reader.api;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ProtocolException;
+import java.util.Random;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+import okio.Source;
+
+/**
+ * 弱網模擬，用於重現和測量慢速網路下的表現
+ * - 固定加隨機延遲 (在發出請求前等待，模擬往返時間)
+ * - 限制響應體的下載速度
+ * - 按比例在響應體中途斷開
+ * - 按比例直接讓請求失敗
+ * 未設定任何故障時不做任何處理；可用 setSeed() 固定隨機序列以便重複測量
+ */
+public class FaultInjector {
+    private static final long THROTTLE_SLICES_PER_SECOND = 10;
+
+    public enum Preset {
+        /** 關閉 */
+        OFF,
+        /** 約 400ms 往返、50KB/s */
+        SLOW_3G,
+        /** 延遲波動大，10% 失敗、10% 中途斷開 */
+        FLAKY
+    }
+
+    private volatile long minLatencyMs;
+    private volatile long maxLatencyMs;
+    private volatile long bytesPerSecond;
+    private volatile double truncateRate;
+    private volatile double errorRate;
+    private volatile Random random = new Random();
+    private volatile Preset preset = Preset.OFF;
+
+    public void applyPreset(Preset preset) {
+        reset();
+        switch (preset) {
+            case SLOW_3G:
+                setLatency(300, 500);
+                setBandwidth(50 * 1024);
+                break;
+            case FLAKY:
+                setLatency(50, 2000);
+                setErrorRate(0.1);
+                setTruncateRate(0.1);
+                break;
+            default:
+                break;
+        }
+        this.preset = preset;
+    }
+
+    /**
+     * 最近一次套用的預設 (之後單獨修改的參數不反映在此)
+     */
+    public Preset getPreset() {
+        return preset;
+    }
+
+    public void reset() {
+        minLatencyMs = 0;
+        maxLatencyMs = 0;
+        bytesPerSecond = 0;
+        truncateRate = 0;
+        errorRate = 0;
+        preset = Preset.OFF;
+    }
+
+    /**
+     * 每個網路請求發出前等待 [minMs, maxMs] 之間的隨機時間
+     */
+    public void setLatency(long minMs, long maxMs) {
+        this.minLatencyMs = minMs;
+        this.maxLatencyMs = Math.max(minMs, maxMs);
+    }
+
+    /**
+     * 響應體下載速度上限，0 為不限
+     */
+    public void setBandwidth(long bytesPerSecond) {
+        this.bytesPerSecond = bytesPerSecond;
+    }
+
+    /**
+     * 響應體讀到隨機位置時斷開的比例 (0 到 1)
+     */
+    public void setTruncateRate(double rate) {
+        this.truncateRate = rate;
+    }
+
+    /**
+     * 請求直接以連線錯誤失敗的比例 (0 到 1)
+     */
+    public void setErrorRate(double rate) {
+        this.errorRate = rate;
+    }
+
+    public void setSeed(long seed) {
+        this.random = new Random(seed);
+    }
+
+    public boolean isActive() {
+        return maxLatencyMs > 0 || bytesPerSecond > 0 || truncateRate > 0 || errorRate > 0;
+    }
+
+    /**
+     * 網路攔截器 (需在最內層)：只影響真正發往網路的請求，快取命中不受影響
+     */
+    Interceptor interceptor() {
+        return chain -> {
+            if (!isActive()) {
+                return chain.proceed(chain.request());
+            }
+            Random random = this.random;
+
+            long latency = minLatencyMs;
+            if (maxLatencyMs > minLatencyMs) {
+                latency += (long) (random.nextDouble() * (maxLatencyMs - minLatencyMs));
+            }
+            sleep(latency);
+
+            if (random.nextDouble() < errorRate) {
+                throw new IOException("Injected connection failure: " + chain.request().url());
+            }
+
+            Response response = chain.proceed(chain.request());
+            ResponseBody body = response.body();
+            long throttle = bytesPerSecond;
+            boolean truncate = random.nextDouble() < truncateRate;
+            if (body == null || (throttle <= 0 && !truncate)) {
+                return response;
+            }
+
+            long cutoff = -1;
+            if (truncate) {
+                long length = body.contentLength();
+                cutoff = length > 0 ? (long) (random.nextDouble() * length) : random.nextInt(16 * 1024);
+            }
+            return response.newBuilder()
+                    .body(new FaultyResponseBody(body, throttle, cutoff))
+                    .build();
+        };
+    }
+
+    private static void sleep(long millis) throws InterruptedIOException {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted during injected latency");
+        }
+    }
+
+    private static class FaultyResponseBody extends ResponseBody {
+        private final ResponseBody delegate;
+        private final BufferedSource source;
+
+        FaultyResponseBody(ResponseBody delegate, long bytesPerSecond, long cutoff) {
+            this.delegate = delegate;
+            this.source = Okio.buffer(new FaultySource(delegate.source(), bytesPerSecond, cutoff));
+        }
+
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return delegate.contentLength();
+        }
+
+        @Override
+        public BufferedSource source() {
+            return source;
+        }
+    }
+
+    private static class FaultySource extends ForwardingSource {
+        private final long bytesPerSecond;
+        private final long cutoff;
+        private long totalRead;
+
+        FaultySource(Source delegate, long bytesPerSecond, long cutoff) {
+            super(delegate);
+            this.bytesPerSecond = bytesPerSecond;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        public long read(Buffer sink, long byteCount) throws IOException {
+            long limit = byteCount;
+            if (bytesPerSecond > 0) {
+                limit = Math.min(limit, Math.max(1, bytesPerSecond / THROTTLE_SLICES_PER_SECOND));
+            }
+            if (cutoff >= 0) {
+                if (totalRead >= cutoff) {
+                    // 與 OkHttp 遇到連線提前關閉時的錯誤一致
+                    throw new ProtocolException("unexpected end of stream");
+                }
+                limit = Math.min(limit, cutoff - totalRead);
+            }
+
+            long read = super.read(sink, limit);
+            if (read > 0) {
+                totalRead += read;
+                if (bytesPerSecond > 0) {
+                    sleep(read * 1000 / bytesPerSecond);
+                }
+            }
+            return read;
+        }
+    }
+}
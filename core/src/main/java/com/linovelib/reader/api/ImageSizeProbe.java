@@ -0,0 +1,272 @@
+package com.linovelib.reader.api;
+
+import com.linovelib.reader.log.Log;
+import com.linovelib.reader.model.ChapterContent;
+import com.linovelib.reader.model.ChapterItem;
+import com.linovelib.reader.util.LinovelibUrls;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import okhttp3.Headers;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+
+/**
+ * 只讀取圖片開頭的少量位元組取得寬高 (JPEG / PNG / GIF / WebP)，結果按 URL 快取
+ * 讀到尺寸即關閉回應，不下載整張圖片；不處理 JPEG 的 EXIF 旋轉
+ */
+public final class ImageSizeProbe {
+    private static final String TAG = "ImageSizeProbe";
+    // JPEG 的 SOF 可能排在 EXIF 縮圖之後，超過此長度仍未找到即放棄
+    private static final int MAX_HEADER_BYTES = 128 * 1024;
+    private static final int MAX_ENTRIES = 512;
+    // 探測只讀取檔頭，少量線程即可，與章節分頁的下載線程分開
+    private static final int PROBE_THREADS = 2;
+
+    private final OkHttpClient client;
+    private final Map<String, Long> sizes = new LinkedHashMap<String, Long>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    private final ExecutorService executor = Executors.newFixedThreadPool(PROBE_THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "image-size-probe");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 探測到圖片尺寸時在探測線程上調用，index 為圖片在 ChapterContent 中的位置
+     */
+    public interface SizeListener {
+        void onImageSize(int index, int width, int height);
+    }
+
+    public ImageSizeProbe(OkHttpClient client) {
+        this.client = client;
+    }
+
+    /**
+     * 為尚無尺寸的圖片項補上已快取的尺寸，不發出請求
+     */
+    public void fillCached(ChapterContent content) {
+        for (int i = 0; i < content.getItemCount(); i++) {
+            if (content.getItemType(i) != ChapterItem.TYPE_IMAGE) {
+                continue;
+            }
+            ChapterItem item = content.getItem(i);
+            if (item.getWidth() > 0) {
+                continue;
+            }
+            int[] cached = cached(item.getContent());
+            if (cached != null) {
+                content.setItemDimensions(i, cached[0], cached[1]);
+            }
+        }
+    }
+
+    /**
+     * 在背景探測仍無尺寸的圖片，不等待結果
+     * 探測不修改 content，由 listener 決定何時寫入 (例如在 UI 線程上寫入後刷新該項)
+     */
+    public void probeMissing(ChapterContent content, Headers headers, SizeListener listener) {
+        for (int i = 0; i < content.getItemCount(); i++) {
+            if (content.getItemType(i) != ChapterItem.TYPE_IMAGE) {
+                continue;
+            }
+            ChapterItem item = content.getItem(i);
+            if (item.getWidth() > 0) {
+                continue;
+            }
+            int index = i;
+            String url = item.getContent();
+            try {
+                executor.execute(() -> {
+                    try {
+                        int[] size = probe(url, headers);
+                        if (size != null) {
+                            listener.onImageSize(index, size[0], size[1]);
+                        }
+                    } catch (IOException e) {
+                        Log.w(TAG, "Failed to probe image size: " + url, e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                Log.w(TAG, "Image size probe rejected: " + url);
+            }
+        }
+    }
+
+    /**
+     * 探測單張圖片的寬高，無法識別時返回 null
+     */
+    public int[] probe(String url, Headers headers) throws IOException {
+        int[] cached = cached(url);
+        if (cached != null) {
+            return cached;
+        }
+        Request request = new Request.Builder()
+                .url(url)
+                .headers(headers)
+                // 支援 Range 的伺服器只回傳開頭部分；不支援時讀到尺寸後直接關閉連線
+                .header("Range", "bytes=0-" + (MAX_HEADER_BYTES - 1))
+                .build();
+        try (Response response = client.newCall(request).execute()) {
+            ResponseBody body = response.body();
+            if (!response.isSuccessful() || body == null) {
+                throw new IOException("HTTP " + response.code() + " for " + url);
+            }
+            int[] size = readSize(body.source());
+            if (size != null) {
+                synchronized (sizes) {
+                    sizes.put(LinovelibUrls.cacheKey(url), ((long) size[0] << 32) | size[1]);
+                }
+            }
+            return size;
+        }
+    }
+
+    private int[] cached(String url) {
+        Long packed;
+        synchronized (sizes) {
+            packed = sizes.get(LinovelibUrls.cacheKey(url));
+        }
+        return packed == null ? null : new int[] {(int) (packed >>> 32), (int) (long) packed};
+    }
+
+    /**
+     * 從圖片開頭讀取寬高，格式無法識別或尺寸無效時返回 null
+     */
+    public static int[] readSize(BufferedSource source) throws IOException {
+        if (!source.request(12)) {
+            return null;
+        }
+        int[] size;
+        int b0 = source.getBuffer().getByte(0) & 0xff;
+        int b1 = source.getBuffer().getByte(1) & 0xff;
+        if (b0 == 0xff && b1 == 0xd8) {
+            size = readJpeg(source);
+        } else if (b0 == 0x89 && b1 == 'P') {
+            size = readPng(source);
+        } else if (b0 == 'G' && b1 == 'I') {
+            size = readGif(source);
+        } else if (b0 == 'R' && b1 == 'I') {
+            size = readWebp(source);
+        } else {
+            size = null;
+        }
+        return size != null && size[0] > 0 && size[1] > 0 ? size : null;
+    }
+
+    private static int[] readPng(BufferedSource source) throws IOException {
+        // 8 位元組簽名，之後第一個區塊必為 IHDR：長度 (4) + 類型 (4) + 寬 (4) + 高 (4)
+        if (!source.request(24) || source.getBuffer().getByte(12) != 'I' || source.getBuffer().getByte(15) != 'R') {
+            return null;
+        }
+        source.skip(16);
+        return new int[] {source.readInt(), source.readInt()};
+    }
+
+    private static int[] readGif(BufferedSource source) throws IOException {
+        if (!source.request(10) || source.getBuffer().getByte(2) != 'F') {
+            return null;
+        }
+        source.skip(6);
+        return new int[] {source.readShortLe() & 0xffff, source.readShortLe() & 0xffff};
+    }
+
+    private static int[] readWebp(BufferedSource source) throws IOException {
+        // RIFF 頭 (12) + 第一個區塊的類型 (4) 和長度 (4)，區塊數據從第 20 位元組開始
+        if (!source.request(30) || source.getBuffer().getByte(8) != 'W' || source.getBuffer().getByte(11) != 'P') {
+            return null;
+        }
+        source.skip(12);
+        String chunk = source.readUtf8(4);
+        source.skip(4);
+        switch (chunk) {
+            case "VP8 ": {
+                // 幀標記 (3) + 起始碼 (3)，之後為 14 位的寬高
+                source.skip(6);
+                return new int[] {source.readShortLe() & 0x3fff, source.readShortLe() & 0x3fff};
+            }
+            case "VP8L": {
+                // 簽名 0x2f 之後依次為 14 位的 (寬 - 1) 和 (高 - 1)
+                if (source.readByte() != 0x2f) {
+                    return null;
+                }
+                int bits = source.readIntLe();
+                return new int[] {(bits & 0x3fff) + 1, ((bits >>> 14) & 0x3fff) + 1};
+            }
+            case "VP8X": {
+                // 旗標 (4) 之後為 24 位的 (畫布寬 - 1) 和 (畫布高 - 1)
+                source.skip(4);
+                return new int[] {readInt24Le(source) + 1, readInt24Le(source) + 1};
+            }
+            default:
+                return null;
+        }
+    }
+
+    private static int[] readJpeg(BufferedSource source) throws IOException {
+        source.skip(2);
+        long consumed = 2;
+        while (consumed < MAX_HEADER_BYTES) {
+            if (!source.request(4)) {
+                return null;
+            }
+            if ((source.readByte() & 0xff) != 0xff) {
+                return null;
+            }
+            int marker = source.readByte() & 0xff;
+            consumed += 2;
+            // 標記前可有任意個 0xff 填充
+            while (marker == 0xff) {
+                if (!source.request(1)) {
+                    return null;
+                }
+                marker = source.readByte() & 0xff;
+                consumed++;
+            }
+            if (marker == 0x01 || (marker >= 0xd0 && marker <= 0xd7)) {
+                continue;
+            }
+            if (marker == 0xd9 || marker == 0xda) {
+                // 影像結束或掃描開始，之前應已出現 SOF
+                return null;
+            }
+            int length = source.readShort() & 0xffff;
+            if (length < 2) {
+                return null;
+            }
+            if (marker >= 0xc0 && marker <= 0xcf && marker != 0xc4 && marker != 0xc8 && marker != 0xcc) {
+                // SOF：精度 (1) + 高 (2) + 寬 (2)
+                if (!source.request(5)) {
+                    return null;
+                }
+                source.skip(1);
+                int height = source.readShort() & 0xffff;
+                int width = source.readShort() & 0xffff;
+                return new int[] {width, height};
+            }
+            if (!source.request(length - 2)) {
+                return null;
+            }
+            source.skip(length - 2);
+            consumed += length;
+        }
+        return null;
+    }
+
+    private static int readInt24Le(BufferedSource source) throws IOException {
+        return (source.readByte() & 0xff) | (source.readByte() & 0xff) << 8 | (source.readByte() & 0xff) << 16;
+    }
+}
@@ -0,0 +1,736 @@
+package com.linovelib.reader.api;
+
+import com.linovelib.reader.fixture.FixtureRecorder;
+import com.linovelib.reader.log.Log;
+import com.linovelib.reader.metrics.LatencyHistogram;
+import com.linovelib.reader.metrics.Metrics;
+import com.linovelib.reader.model.ChapterContent;
+import com.linovelib.reader.model.Novel;
+import com.linovelib.reader.model.Volume;
+import com.linovelib.reader.parser.CatalogListener;
+import com.linovelib.reader.parser.ChapterPage;
+import com.linovelib.reader.parser.LinovelibParser;
+import com.linovelib.reader.util.LinovelibUrls;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.EventListener;
+import okhttp3.Headers;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okhttp3.brotli.BrotliInterceptor;
+import okio.Buffer;
+import okio.BufferedSource;
+
+public class LinovelibAPI {
+    private static final String TAG = "LinovelibAPI";
+    private static final String DEFAULT_MIRROR_HOST = "tw.linovelib.com";
+    private static final int TIMEOUT_SECONDS = 15;
+    private static final String USER_AGENT = "Mozilla/5.0 (Linux; Android 10; K) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Mobile Safari/537.36";
+    private static final int MAX_CHAPTER_PAGES = 10; // 防止死循環
+    private static final int PAGE_FETCH_PARALLELISM = 3;
+    private static final long HTTP_CACHE_BYTES = 20L * 1024 * 1024;
+    private static final int PARSED_CACHE_ENTRIES = 32;
+    private static final String COOKIE_FILE = "cookies.txt";
+    private static final String DNS_CACHE_FILE = "dns-cache.txt";
+    // 閱讀時主要連到同一主機，HTTP/2 下一條連線即可多路複用，其餘留給圖片主機
+    private static final int MAX_IDLE_CONNECTIONS = 8;
+    private static final long KEEP_ALIVE_MINUTES = 5;
+    
+    private static LinovelibAPI instance;
+    private static File cacheDirectory;
+    private static File dataDirectory;
+    private static List<String> mirrorHosts = Collections.singletonList(DEFAULT_MIRROR_HOST);
+    private final OkHttpClient client;
+    private final OkHttpClient imageClient;
+    private final PersistentCookieJar cookieJar;
+    private final ImageSizeProbe imageSizeProbe;
+    private final ResilientCaller caller;
+    private final MirrorSelector mirrors = new MirrorSelector(mirrorHosts);
+    private final ChallengeBreaker challengeBreaker = new ChallengeBreaker();
+    private final FaultInjector faultInjector = new FaultInjector();
+    private final FixtureRecorder fixtureRecorder = new FixtureRecorder();
+    private final DataUsageLedger dataUsage = new DataUsageLedger();
+    private final ParsedResultCache parsedCache = new ParsedResultCache(PARSED_CACHE_ENTRIES);
+    private final SingleFlight singleFlight = new SingleFlight();
+    private final ConcurrentHashMap<String, CatalogStream> catalogStreams = new ConcurrentHashMap<>();
+    // 待讀完的回應仍佔用主機名額，需立即開始讀取，不能排隊
+    private final ExecutorService drainExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "response-drain");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final PageSource<Document> documentPages = new PageSource<Document>() {
+        @Override
+        public Document fetch(String url) throws IOException {
+            return fetchChapterPage(url);
+        }
+
+        @Override
+        public String nextPageUrl(Document page) {
+            return LinovelibParser.getNextPageUrl(page);
+        }
+    };
+    private final ExecutorService pageExecutor;
+    // 分頁解析純屬 CPU 運算，線程數按核心數，與網路線程分開
+    private final ExecutorService parseExecutor = Executors.newFixedThreadPool(
+            Math.max(1, Runtime.getRuntime().availableProcessors() - 1), runnable -> {
+                Thread thread = new Thread(runnable, "chapter-page-parse");
+                thread.setDaemon(true);
+                return thread;
+            });
+    private volatile boolean parallelPagination = true;
+
+    private LinovelibAPI() {
+        cookieJar = new PersistentCookieJar(dataDirectory != null ? new File(dataDirectory, COOKIE_FILE) : null);
+        OkHttpClient.Builder builder = new OkHttpClient.Builder();
+        if (cacheDirectory != null) {
+            // 磁碟快取，超出容量時由 OkHttp 按 LRU 淘汰
+            builder.cache(new Cache(new File(cacheDirectory, "http"), HTTP_CACHE_BYTES));
+        }
+
+        client = builder
+                // 最外層：把已知鏡像的請求改寫到當前最快的鏡像
+                .addInterceptor(mirrors.interceptor())
+                .addInterceptor(challengeBreaker.interceptor())
+                .addInterceptor(fixtureRecorder)
+                // 明確協商 brotli / gzip 並自行解壓，以便分別統計壓縮前後的流量
+                .addInterceptor(dataUsage.decodedInterceptor())
+                .addInterceptor(BrotliInterceptor.INSTANCE)
+                .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES))
+                .dns(new PersistentDns(cacheDirectory != null ? new File(cacheDirectory, DNS_CACHE_FILE) : null))
+                .addNetworkInterceptor(RequestScheduler.getInstance().networkInterceptor())
+                .addNetworkInterceptor(new CachePolicyInterceptor())
+                .addNetworkInterceptor(dataUsage.wireInterceptor())
+                .addNetworkInterceptor(faultInjector.interceptor())
+                .connectTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .readTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .writeTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .cookieJar(cookieJar)
+                .eventListenerFactory(PhaseTimingListener.FACTORY)
+                .build();
+
+        caller = new ResilientCaller(client);
+        // 鏡像切換、驗證頁處理、頁面錄製、快取策略和調度器名額都只針對站點的 HTML 請求，
+        // 圖片請求不經過這些攔截器，也不佔用頁面請求的令牌；保留弱網模擬以便一併測試
+        OkHttpClient.Builder imageBuilder = client.newBuilder()
+                .cache(null)
+                .eventListener(EventListener.NONE);
+        imageBuilder.interceptors().clear();
+        imageBuilder.networkInterceptors().clear();
+        imageClient = imageBuilder
+                .addNetworkInterceptor(faultInjector.interceptor())
+                .build();
+        imageSizeProbe = new ImageSizeProbe(imageClient);
+        mirrors.startProbing(client);
+
+        pageExecutor = Executors.newFixedThreadPool(PAGE_FETCH_PARALLELISM, runnable -> {
+            Thread thread = new Thread(runnable, "chapter-page-fetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 設定 HTTP 快取目錄和 Cookie 等持久數據目錄，需在第一次 getInstance() 之前調用
+     */
+    public static synchronized void init(File cacheDir, File dataDir) {
+        if (instance == null) {
+            cacheDirectory = cacheDir;
+            dataDirectory = dataDir;
+        }
+    }
+
+    /**
+     * 同上，並指定可用的鏡像 (第一個為首選)
+     * 可以是主機名，也可以是帶協議和端口的根 URL，例如指向本地 FixtureServer
+     */
+    public static synchronized void init(File cacheDir, File dataDir, List<String> mirrors) {
+        init(cacheDir, dataDir);
+        if (instance == null && !mirrors.isEmpty()) {
+            mirrorHosts = new ArrayList<>(mirrors);
+        }
+    }
+
+    public static synchronized LinovelibAPI getInstance() {
+        if (instance == null) {
+            instance = new LinovelibAPI();
+        }
+        return instance;
+    }
+
+    /**
+     * 預熱連線：提前完成 DNS 解析、TCP 與 TLS 握手，之後的請求可直接複用連線
+     */
+    public void prewarm() {
+        Request request = new Request.Builder()
+                .url(getBaseUrl() + "/")
+                .head()
+                .addHeader("User-Agent", USER_AGENT)
+                .build();
+        try (Response response = client.newCall(request).execute()) {
+            Log.d(TAG, "Prewarmed connection: " + response.protocol());
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to prewarm connection", e);
+        }
+    }
+
+    /**
+     * 把 Cookie 立即寫入磁碟；應用退到背景時調用，進程可能隨後被系統終止而來不及延遲寫回
+     */
+    public void flushCookies() {
+        cookieJar.flush();
+    }
+
+    /**
+     * 當前選用鏡像的根 URL (不含結尾斜線)
+     */
+    public String getBaseUrl() {
+        return mirrors.getBaseUrl();
+    }
+
+    public MirrorSelector getMirrorSelector() {
+        return mirrors;
+    }
+
+    public ChallengeBreaker getChallengeBreaker() {
+        return challengeBreaker;
+    }
+
+    /**
+     * 弱網模擬，預設關閉
+     */
+    public FaultInjector getFaultInjector() {
+        return faultInjector;
+    }
+
+    /**
+     * 頁面錄製，設定目錄後把抓取的 HTML 存為 FixtureServer 可回放的夾具
+     */
+    public FixtureRecorder getFixtureRecorder() {
+        return fixtureRecorder;
+    }
+
+    /**
+     * 圖片加載用的 Client：共用連線池、DNS 快取和 Cookie，但不使用 HTTP 快取 (圖片已有 Glide 磁碟快取)，
+     * 也不經過頁面請求的攔截器、調度器和計時
+     */
+    public OkHttpClient getImageClient() {
+        return imageClient;
+    }
+
+    /**
+     * 獲取首頁 HTML
+     */
+    public String fetchHomePage() throws IOException {
+        return fetchUrl(getBaseUrl() + "/");
+    }
+
+    /**
+     * 獲取小說詳情頁 HTML
+     */
+    public String fetchNovelDetail(String novelId) throws IOException {
+        return fetchUrl(getBaseUrl() + "/novel/" + novelId + ".html");
+    }
+
+    /**
+     * 獲取章節目錄 HTML
+     */
+    public String fetchCatalog(String novelId) throws IOException {
+        return fetchUrl(getBaseUrl() + "/novel/" + novelId + "/catalog");
+    }
+
+    /**
+     * 獲取並解析首頁推薦列表
+     * 以下 load 方法返回的都是副本，調用者可以自由修改
+     */
+    public List<Novel> loadHomeNovels() throws IOException {
+        return copyNovels(fetchParsed(getBaseUrl() + "/", LinovelibParser::parseNovelList));
+    }
+
+    /**
+     * 獲取並解析小說詳情
+     */
+    public Novel loadNovelDetail(String novelId) throws IOException {
+        Novel novel = fetchParsed(getBaseUrl() + "/novel/" + novelId + ".html", LinovelibParser::parseNovelDetail);
+        return novel != null ? novel.copy() : null;
+    }
+
+    /**
+     * 獲取並解析章節目錄
+     */
+    public List<Volume> loadCatalog(String novelId) throws IOException {
+        return copyVolumes(fetchParsed(getBaseUrl() + "/novel/" + novelId + "/catalog", LinovelibParser::parseCatalog));
+    }
+
+    /**
+     * 獲取並解析章節目錄，邊下載邊解析，每解析完一卷即在調用線程上交給 listener；
+     * 頁面未變動時從上次的結果逐卷交付。同一目錄的並發請求只下載一次，
+     * 後加入的調用者先重放已解析的卷，再隨下載進度接收後續各卷
+     */
+    public List<Volume> loadCatalog(String novelId, CatalogListener listener) throws IOException {
+        String url = getBaseUrl() + "/novel/" + novelId + "/catalog";
+        String key = normalizeUrl(url);
+        CatalogStream stream = new CatalogStream();
+        CatalogStream existing = catalogStreams.putIfAbsent(key, stream);
+        if (existing != null) {
+            singleFlight.recordDuplicate();
+            return copyVolumes(existing.replay(listener));
+        }
+
+        try {
+            AtomicInteger delivered = new AtomicInteger();
+            // 與非串流的 loadCatalog(novelId) 共用合併鍵，此時只能在完成後一次交付
+            List<Volume> volumes = singleFlight.execute("parsed " + key,
+                    () -> executeFetchParsed(url, response -> LinovelibParser.readCatalog(
+                            response.body().charStream(), response.request().url().toString(), volume -> {
+                                stream.publish(volume);
+                                delivered.incrementAndGet();
+                                listener.onVolume(volume.copy());
+                            })));
+            stream.complete(volumes);
+            for (int i = delivered.get(); i < volumes.size(); i++) {
+                listener.onVolume(volumes.get(i).copy());
+            }
+            return copyVolumes(volumes);
+        } catch (Throwable e) {
+            stream.fail(e);
+            throw e;
+        } finally {
+            catalogStreams.remove(key, stream);
+        }
+    }
+
+    /**
+     * 獲取並解析章節內容 (處理分頁)
+     * 各分頁以串流方式邊下載邊解析，取得所需部分後即停止；之後各頁在解析線程池上分別處理，按頁序合併
+     */
+    public ChapterContent fetchChapter(String chapterUrl) throws IOException {
+        String url = absoluteUrl(chapterUrl);
+        return singleFlight.execute("chapter " + normalizeUrl(url), () -> {
+            long start = System.nanoTime();
+            List<ChapterPage> pages = fetchChapterPages(url);
+            ChapterContent content = LinovelibParser.parseChapterPages(pages, parseExecutor);
+            // 頁面未標明尺寸的插圖先用已探測過的尺寸，其餘由 probeImageSizes 在背景探測
+            imageSizeProbe.fillCached(content);
+            Metrics.getInstance().recordSince(Metrics.Phase.CHAPTER_LOAD, start);
+            return content;
+        });
+    }
+
+    /**
+     * 在背景探測章節中仍無尺寸的插圖，只讀取檔頭取得寬高，閱讀器據此在圖片載入前預留高度
+     * 不阻塞調用線程；listener 在探測線程上調用
+     */
+    public void probeImageSizes(ChapterContent content, ImageSizeProbe.SizeListener listener) {
+        imageSizeProbe.probeMissing(content, imageHeaders(), listener);
+    }
+
+    /**
+     * 獲取章節的全部分頁 (處理分頁)，按頁序排列
+     */
+    public List<ChapterPage> fetchChapterPages(String chapterUrl) throws IOException {
+        List<Document> documents = fetchChapterPages(absoluteUrl(chapterUrl), documentPages);
+        List<ChapterPage> pages = new ArrayList<>(documents.size());
+        for (int i = 0; i < documents.size(); i++) {
+            Document document = documents.get(i);
+            pages.add(new ChapterPage(i, document.location(), document));
+        }
+        return pages;
+    }
+
+    /**
+     * 是否使用並行分頁抓取 (預設開啟，關閉時退回逐頁抓取)
+     */
+    public void setParallelPagination(boolean enabled) {
+        this.parallelPagination = enabled;
+    }
+
+    // 規範化 URL
+    private String absoluteUrl(String url) {
+        return LinovelibUrls.absolute(getBaseUrl(), url);
+    }
+
+    private <P> List<P> fetchChapterPages(String chapterUrl, PageSource<P> source) throws IOException {
+        return parallelPagination
+                ? fetchChapterPagesParallel(chapterUrl, source)
+                : fetchChapterPagesSequential(chapterUrl, source);
+    }
+
+    /**
+     * 逐頁抓取：每頁都要等上一頁的 url_next 才能繼續
+     */
+    private <P> List<P> fetchChapterPagesSequential(String chapterUrl, PageSource<P> source) throws IOException {
+        List<P> pages = new ArrayList<>();
+        P firstPage = source.fetch(chapterUrl);
+        pages.add(firstPage);
+
+        String nextPageUrl = source.nextPageUrl(firstPage);
+        String currentChapterId = LinovelibUrls.chapterId(chapterUrl);
+
+        while (nextPageUrl != null && pages.size() < MAX_CHAPTER_PAGES) {
+            if (!isSameChapter(currentChapterId, nextPageUrl)) {
+                break; // 下一頁是新章節，停止獲取
+            }
+
+            Log.d(TAG, "Fetching next page: " + nextPageUrl);
+            P nextPage = source.fetch(nextPageUrl);
+            pages.add(nextPage);
+            nextPageUrl = source.nextPageUrl(nextPage);
+        }
+        return pages;
+    }
+
+    /**
+     * 並行抓取：依 {chapterId}_{n}.html 規則猜測後續頁面並同時請求，
+     * 再按 url_next 鏈逐頁驗證，猜錯或換章時丟棄多抓的頁面
+     */
+    private <P> List<P> fetchChapterPagesParallel(String chapterUrl, PageSource<P> source) throws IOException {
+        List<P> pages = new ArrayList<>();
+        P firstPage = source.fetch(chapterUrl);
+        pages.add(firstPage);
+
+        String nextPageUrl = source.nextPageUrl(firstPage);
+        String currentChapterId = LinovelibUrls.chapterId(chapterUrl);
+
+        while (nextPageUrl != null && pages.size() < MAX_CHAPTER_PAGES) {
+            if (!isSameChapter(currentChapterId, nextPageUrl)) {
+                break; // 下一頁是新章節，停止獲取
+            }
+
+            // nextPageUrl 已由上一頁確認，其後的頁面只是猜測
+            int windowSize = Math.min(PAGE_FETCH_PARALLELISM, MAX_CHAPTER_PAGES - pages.size());
+            List<String> windowUrls = new ArrayList<>();
+            windowUrls.add(nextPageUrl);
+            String guessedUrl = guessFollowingPageUrl(nextPageUrl);
+            while (guessedUrl != null && windowUrls.size() < windowSize) {
+                windowUrls.add(guessedUrl);
+                guessedUrl = guessFollowingPageUrl(guessedUrl);
+            }
+
+            Log.d(TAG, "Fetching " + windowUrls.size() + " pages in parallel from: " + nextPageUrl);
+            List<Future<P>> futures = new ArrayList<>();
+            for (String url : windowUrls) {
+                futures.add(pageExecutor.submit(RequestScheduler.withCurrentPriority(() -> source.fetch(url))));
+            }
+
+            try {
+                for (int i = 0; i < futures.size(); i++) {
+                    // 只有經 url_next 確認過的頁面才會走到這裡，失敗即視為真正的錯誤
+                    P page = awaitPage(futures.get(i));
+                    pages.add(page);
+                    nextPageUrl = source.nextPageUrl(page);
+
+                    boolean hasGuess = i + 1 < windowUrls.size();
+                    if (hasGuess && !windowUrls.get(i + 1).equals(nextPageUrl)) {
+                        break; // 猜測與實際鏈不符，交回外層迴圈從 nextPageUrl 繼續
+                    }
+                }
+            } finally {
+                // 只取消尚未開始的猜測；已發出的請求不中斷，讓它們正常完成並寫入快取，
+                // 中斷會打斷 ResilientCaller 和 OkHttp 內部的等待
+                for (Future<P> future : futures) {
+                    future.cancel(false);
+                }
+            }
+        }
+        return pages;
+    }
+
+    private <P> P awaitPage(Future<P> future) throws IOException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("Failed to fetch chapter page", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while fetching chapter page", e);
+        }
+    }
+
+    /**
+     * 檢查下一頁是否屬於同一章節 (例如 1234.html -> 1234_2.html)
+     */
+    private boolean isSameChapter(String currentChapterId, String pageUrl) {
+        return currentChapterId != null && currentChapterId.equals(LinovelibUrls.chapterId(pageUrl));
+    }
+
+    /**
+     * 由分頁 URL 推算下一頁，例如 269999_2.html -> 269999_3.html；
+     * 不符合分頁格式時返回 null
+     */
+    private String guessFollowingPageUrl(String pageUrl) {
+        return LinovelibUrls.followingPageUrl(pageUrl);
+    }
+
+    /**
+     * 搜索小說
+     */
+    public String searchNovels(String keyword) throws IOException {
+        // 這裡需要根據實際網站的搜索URL格式調整
+        String url = getBaseUrl() + "/search.php?keyword=" + keyword;
+        return fetchUrl(url);
+    }
+
+    /**
+     * 因合併相同進行中請求而省下的網路請求數
+     */
+    public long getDuplicateRequestsSaved() {
+        return singleFlight.getDuplicatesSaved();
+    }
+
+    /**
+     * 按頁面類型統計的流量
+     */
+    public DataUsageLedger getDataUsage() {
+        return dataUsage;
+    }
+
+    /**
+     * 是否對慢請求發出對沖請求 (預設開啟)
+     */
+    public void setHedgingEnabled(boolean enabled) {
+        caller.setHedgingEnabled(enabled);
+    }
+
+    /**
+     * 累計重試次數
+     */
+    public long getRetryCount() {
+        return caller.getRetryCount();
+    }
+
+    /**
+     * 累計發出的對沖請求數，以及其中比原請求先完成的次數
+     */
+    public long getHedgeCount() {
+        return caller.getHedgeCount();
+    }
+
+    public long getHedgeWinCount() {
+        return caller.getHedgeWinCount();
+    }
+
+    /**
+     * 章節從請求到解析完成的耗時分佈，用於追蹤 p99
+     */
+    public LatencyHistogram getChapterLoadLatency() {
+        return Metrics.getInstance().get(Metrics.Phase.CHAPTER_LOAD);
+    }
+
+    /**
+     * 規範化 URL 作為請求合併的鍵 (主機名小寫、去除預設埠和片段)
+     */
+    private static String normalizeUrl(String url) {
+        return LinovelibUrls.cacheKey(url);
+    }
+
+    /**
+     * 通用的 URL 請求方法 (相同 URL 的並發請求共用同一次網路調用)
+     */
+    private String fetchUrl(String url) throws IOException {
+        return singleFlight.execute("html " + normalizeUrl(url), () -> executeFetch(url));
+    }
+
+    private String executeFetch(String url) throws IOException {
+        Log.d(TAG, "Fetching URL: " + url);
+
+        try (Response response = caller.execute(newRequest(url))) {
+            checkResponse(response);
+            return response.body().string();
+        }
+    }
+
+    /**
+     * 串流請求章節分頁，邊讀邊解析，取得內容和導航後即返回
+     */
+    private Document fetchChapterPage(String url) throws IOException {
+        Log.d(TAG, "Streaming URL: " + url);
+
+        Response response = caller.execute(newRequest(url));
+        boolean drainScheduled = false;
+        try {
+            checkResponse(response);
+            // 以實際請求的 URL 作為 baseUri，頁內相對鏈接會指向當前鏡像
+            Document page = LinovelibParser.readChapterPage(response.body().charStream(),
+                    response.request().url().toString());
+
+            // 來自網路且可快取的回應需讀完才會寫入磁碟快取，剩餘部分交給背景線程
+            if (client.cache() != null && response.networkResponse() != null) {
+                drainExecutor.execute(() -> drainAndClose(response));
+                drainScheduled = true;
+            }
+            return page;
+        } finally {
+            if (!drainScheduled) {
+                response.close();
+            }
+        }
+    }
+
+    private void drainAndClose(Response response) {
+        try {
+            BufferedSource source = response.body().source();
+            Buffer sink = new Buffer();
+            while (source.read(sink, 8192) != -1) {
+                sink.clear();
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to drain response: " + response.request().url(), e);
+        } finally {
+            response.close();
+        }
+    }
+
+    /**
+     * 請求並解析頁面；回應版本與上次相同 (快取命中或 304) 時，
+     * 不讀取回應內容，直接返回上次的解析結果
+     * (結果由快取和合併的請求共用，交給外部前需先複製)
+     */
+    private <T> T fetchParsed(String url, HtmlParser<T> parser) throws IOException {
+        return singleFlight.execute("parsed " + normalizeUrl(url),
+                () -> executeFetchParsed(url, response -> parser.parse(readDocument(response))));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T executeFetchParsed(String url, BodyParser<T> parser) throws IOException {
+        Log.d(TAG, "Fetching URL: " + url);
+
+        try (Response response = caller.execute(newRequest(url))) {
+            checkResponse(response);
+
+            String version = responseVersion(response);
+            if (version != null) {
+                Object cached = parsedCache.get(url, version);
+                if (cached != null) {
+                    Log.d(TAG, "Reusing parsed result for unchanged page: " + url);
+                    return (T) cached;
+                }
+            }
+
+            T result = parser.parse(response);
+            if (version != null) {
+                parsedCache.put(url, version, result);
+            }
+            return result;
+        }
+    }
+
+    private static List<Novel> copyNovels(List<Novel> novels) {
+        List<Novel> copies = new ArrayList<>(novels.size());
+        for (Novel novel : novels) {
+            copies.add(novel.copy());
+        }
+        return copies;
+    }
+
+    private static List<Volume> copyVolumes(List<Volume> volumes) {
+        List<Volume> copies = new ArrayList<>(volumes.size());
+        for (Volume volume : volumes) {
+            copies.add(volume.copy());
+        }
+        return copies;
+    }
+
+    /**
+     * 直接從回應串流建立 DOM，不先轉成完整字串
+     */
+    private static Document readDocument(Response response) throws IOException {
+        ResponseBody body = response.body();
+        MediaType contentType = body.contentType();
+        Charset charset = contentType != null ? contentType.charset() : null;
+        return Jsoup.parse(body.byteStream(), charset != null ? charset.name() : null,
+                response.request().url().toString());
+    }
+
+    /**
+     * 回應內容的版本標識：優先使用 ETag，其次 Last-Modified，最後 Date
+     */
+    private String responseVersion(Response response) {
+        String etag = response.header("ETag");
+        if (etag != null) {
+            return "etag:" + etag;
+        }
+        String lastModified = response.header("Last-Modified");
+        if (lastModified != null) {
+            return "modified:" + lastModified;
+        }
+        String date = response.header("Date");
+        return date != null ? "date:" + date : null;
+    }
+
+    private void checkResponse(Response response) throws IOException {
+        if (!response.isSuccessful()) {
+            throw new IOException("Unexpected code " + response);
+        }
+
+        if (response.body() == null) {
+            throw new IOException("Response body is null");
+        }
+    }
+
+    private Headers imageHeaders() {
+        return new Headers.Builder()
+                .add("User-Agent", USER_AGENT)
+                .add("Referer", getBaseUrl() + "/")
+                .build();
+    }
+
+    private Request newRequest(String url) {
+        return new Request.Builder()
+                .url(url)
+                .addHeader("User-Agent", USER_AGENT)
+                .addHeader("Sec-Ch-Ua", "\"Not_A Brand\";v=\"8\", \"Chromium\";v=\"120\", \"Google Chrome\";v=\"120\"")
+                .addHeader("Sec-Ch-Ua-Mobile", "?1")
+                .addHeader("Sec-Ch-Ua-Platform", "\"Android\"")
+                .addHeader("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,image/avif,image/webp,image/apng,*/*;q=0.8,application/signed-exchange;v=b3;q=0.7")
+                .addHeader("Accept-Language", "zh-TW,zh;q=0.9,en-US;q=0.8,en;q=0.7")
+                .addHeader("Referer", getBaseUrl() + "/")
+                .build();
+    }
+
+    /**
+     * 章節分頁的抓取方式與下一頁 URL 的提取方式
+     */
+    private interface PageSource<P> {
+        P fetch(String url) throws IOException;
+
+        String nextPageUrl(P page);
+    }
+
+    private interface HtmlParser<T> {
+        T parse(Document doc);
+    }
+
+    private interface BodyParser<T> {
+        T parse(Response response) throws IOException;
+    }
+}
@@ -0,0 +1,243 @@
+package com.linovelib.reader.api;
+
+import com.linovelib.reader.log.Log;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * 鏡像站選擇
+ * - 背景定期探測各鏡像，並結合實際請求的結果，以 EWMA 統計延遲和錯誤率
+ * - 請求發往最快的健康鏡像；只有明顯更快時才切換，避免來回跳動
+ * - 應用攔截器把指向任一已知鏡像的請求改寫到當前鏡像
+ */
+public class MirrorSelector {
+    private static final String TAG = "MirrorSelector";
+    private static final long PROBE_INTERVAL_MINUTES = 5;
+    private static final double ALPHA = 0.3;
+    private static final double MAX_ERROR_RATE = 0.5;
+    private static final int MAX_CONSECUTIVE_FAILURES = 3;
+    /** 新鏡像的延遲需低於當前鏡像的此比例才切換 */
+    private static final double SWITCH_RATIO = 0.8;
+
+    private final Map<String, Health> mirrors = new LinkedHashMap<>();
+    private final Map<String, HttpUrl> baseUrls = new LinkedHashMap<>();
+    private final String primaryHost;
+    private volatile String currentHost;
+    private ScheduledExecutorService prober;
+
+    /**
+     * @param hosts 鏡像主機名 (預設 https)，或帶協議和端口的根 URL (例如本地夾具服務器)；
+     *              第一個為首選，所有鏡像都不健康時使用
+     */
+    MirrorSelector(List<String> hosts) {
+        if (hosts.isEmpty()) {
+            throw new IllegalArgumentException("No mirror hosts");
+        }
+        for (String host : hosts) {
+            HttpUrl base = HttpUrl.get(host.contains("://") ? host : "https://" + host);
+            mirrors.put(base.host(), new Health());
+            baseUrls.put(base.host(), base);
+        }
+        primaryHost = mirrors.keySet().iterator().next();
+        currentHost = primaryHost;
+    }
+
+    public String getCurrentHost() {
+        return currentHost;
+    }
+
+    public String getBaseUrl() {
+        String url = baseUrls.get(currentHost).resolve("/").toString();
+        return url.substring(0, url.length() - 1);
+    }
+
+    public List<String> getHosts() {
+        return Collections.unmodifiableList(new ArrayList<>(mirrors.keySet()));
+    }
+
+    public boolean isMirror(String host) {
+        return mirrors.containsKey(host.toLowerCase(Locale.US));
+    }
+
+    /**
+     * 各鏡像的統計摘要，每行一個鏡像
+     */
+    public synchronized String report() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Health> entry : mirrors.entrySet()) {
+            Health health = entry.getValue();
+            sb.append(String.format(Locale.US, "%s%s latency=%.0fms errors=%.2f%s%n",
+                    entry.getKey().equals(currentHost) ? "* " : "  ",
+                    entry.getKey(),
+                    health.latencyMs,
+                    health.errorRate,
+                    health.isHealthy() ? "" : " (unhealthy)"));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 開始定期探測 (只有一個鏡像時不需要)
+     */
+    synchronized void startProbing(OkHttpClient client) {
+        if (prober != null || mirrors.size() < 2) {
+            return;
+        }
+        prober = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mirror-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        prober.scheduleWithFixedDelay(
+                () -> RequestScheduler.getInstance().submit(RequestScheduler.Priority.BACKGROUND,
+                        () -> probeAll(client)),
+                0, PROBE_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    private void probeAll(OkHttpClient client) {
+        for (String host : getHosts()) {
+            Request request = new Request.Builder()
+                    .url(baseUrls.get(host).resolve("/"))
+                    .head()
+                    .tag(Probe.class, Probe.INSTANCE)
+                    .build();
+            long start = System.nanoTime();
+            try (Response response = client.newCall(request).execute()) {
+                record(host, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                        response.code() < 500);
+            } catch (IOException e) {
+                Log.w(TAG, "Probe failed for " + host, e);
+                record(host, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), false);
+            }
+        }
+    }
+
+    synchronized void record(String host, long latencyMs, boolean success) {
+        Health health = mirrors.get(host.toLowerCase(Locale.US));
+        if (health == null) {
+            return;
+        }
+        health.update(latencyMs, success);
+        reselect();
+    }
+
+    private void reselect() {
+        Health current = mirrors.get(currentHost);
+        String best = null;
+        Health bestHealth = null;
+        for (Map.Entry<String, Health> entry : mirrors.entrySet()) {
+            Health health = entry.getValue();
+            if (health.isHealthy() && health.samples > 0
+                    && (bestHealth == null || health.latencyMs < bestHealth.latencyMs)) {
+                best = entry.getKey();
+                bestHealth = health;
+            }
+        }
+
+        String next = currentHost;
+        if (best == null) {
+            next = primaryHost;
+        } else if (!current.isHealthy() || current.samples == 0
+                || bestHealth.latencyMs < current.latencyMs * SWITCH_RATIO) {
+            next = best;
+        }
+        if (!next.equals(currentHost)) {
+            Log.i(TAG, "Switching mirror " + currentHost + " -> " + next);
+            currentHost = next;
+        }
+    }
+
+    /**
+     * 應用攔截器：改寫鏡像主機並記錄實際請求的延遲和成敗
+     */
+    Interceptor interceptor() {
+        return chain -> {
+            Request request = chain.request();
+            if (request.tag(Probe.class) != null || !isMirror(request.url().host())) {
+                return chain.proceed(request);
+            }
+
+            String host = currentHost;
+            if (!request.url().host().equals(host)) {
+                Request.Builder builder = request.newBuilder().url(rebase(request.url(), host));
+                String referer = request.header("Referer");
+                HttpUrl refererUrl = referer != null ? HttpUrl.parse(referer) : null;
+                if (refererUrl != null && isMirror(refererUrl.host())) {
+                    builder.header("Referer", rebase(refererUrl, host).toString());
+                }
+                request = builder.build();
+            }
+
+            long start = System.nanoTime();
+            try {
+                Response response = chain.proceed(request);
+                // 快取命中不反映鏡像的快慢
+                if (response.networkResponse() != null) {
+                    record(host, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                            response.code() < 500);
+                }
+                return response;
+            } catch (IOException e) {
+                // 主動取消和熔斷跳過的請求不反映鏡像狀態
+                boolean skipped = e instanceof ChallengeException && ((ChallengeException) e).isShortCircuited();
+                if (!skipped && !"Canceled".equals(e.getMessage())) {
+                    record(host, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), false);
+                }
+                throw e;
+            }
+        };
+    }
+
+    private HttpUrl rebase(HttpUrl url, String host) {
+        HttpUrl base = baseUrls.get(host);
+        return url.newBuilder()
+                .scheme(base.scheme())
+                .host(base.host())
+                .port(base.port())
+                .build();
+    }
+
+    /**
+     * 探測請求的標記，攔截器不改寫也不重複記錄
+     */
+    private enum Probe {
+        INSTANCE
+    }
+
+    private static class Health {
+        double latencyMs;
+        double errorRate;
+        int consecutiveFailures;
+        int samples;
+
+        void update(long latency, boolean success) {
+            if (success) {
+                latencyMs = samples == 0 ? latency : ALPHA * latency + (1 - ALPHA) * latencyMs;
+                samples++;
+                consecutiveFailures = 0;
+            } else {
+                consecutiveFailures++;
+            }
+            errorRate = ALPHA * (success ? 0 : 1) + (1 - ALPHA) * errorRate;
+        }
+
+        boolean isHealthy() {
+            return errorRate < MAX_ERROR_RATE && consecutiveFailures < MAX_CONSECUTIVE_FAILURES;
+        }
+    }
+}
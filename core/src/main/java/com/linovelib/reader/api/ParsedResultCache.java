@@ -0,0 +1,43 @@
+package com.linovelib.reader.api;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 解析結果的記憶體快取
+ * 以 URL 和回應版本 (ETag / Last-Modified) 為鍵，內容未變時直接重用上次的解析結果
+ */
+class ParsedResultCache {
+    private final Map<String, CachedValue> entries;
+
+    ParsedResultCache(final int maxEntries) {
+        entries = new LinkedHashMap<String, CachedValue>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedValue> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    synchronized Object get(String url, String version) {
+        CachedValue cached = entries.get(url);
+        if (cached == null || !cached.version.equals(version)) {
+            return null;
+        }
+        return cached.value;
+    }
+
+    synchronized void put(String url, String version, Object value) {
+        entries.put(url, new CachedValue(version, value));
+    }
+
+    private static class CachedValue {
+        final String version;
+        final Object value;
+
+        CachedValue(String version, Object value) {
+            this.version = version;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package com.linovelib.reader.api;
+
+import com.linovelib.reader.log.Log;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import okhttp3.Cookie;
+import okhttp3.CookieJar;
+import okhttp3.HttpUrl;
+
+/**
+ * 線程安全且可持久化的 Cookie 存儲
+ * - 讀取無鎖：每個主機對應一份不可變列表，寫入時整份替換
+ * - 寫入按主機分段加鎖
+ * - 過期 Cookie 在讀取時過濾，並延遲寫回磁碟
+ * - 持久化文件在寫入線程上載入，載入完成前只有本次運行收到的 Cookie
+ */
+public class PersistentCookieJar implements CookieJar, Closeable {
+    private static final String TAG = "PersistentCookieJar";
+    private static final int LOCK_STRIPES = 16;
+    private static final long FLUSH_DELAY_MS = 2000;
+    private static final long CLOSE_TIMEOUT_MS = 5000;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final ConcurrentHashMap<String, List<Cookie>> cookieStore = new ConcurrentHashMap<>();
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private final File file;
+    private final ScheduledExecutorService writer;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final CountDownLatch loaded = new CountDownLatch(1);
+    private volatile boolean closed;
+
+    /**
+     * @param file 持久化文件，為 null 時僅保存在內存
+     */
+    public PersistentCookieJar(File file) {
+        this.file = file;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cookie-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (file != null) {
+            // 單線程執行器按提交順序執行，之後排程的寫回必定在載入之後
+            writer.execute(this::load);
+        } else {
+            loaded.countDown();
+        }
+    }
+
+    @Override
+    public void saveFromResponse(HttpUrl url, List<Cookie> cookies) {
+        if (cookies == null || cookies.isEmpty()) {
+            return;
+        }
+
+        String host = url.host();
+        long now = System.currentTimeMillis();
+        synchronized (lockFor(host)) {
+            List<Cookie> current = cookieStore.get(host);
+            List<Cookie> updated = new ArrayList<>();
+            if (current != null) {
+                for (Cookie cookie : current) {
+                    if (cookie.expiresAt() > now && !isReplacedBy(cookie, cookies)) {
+                        updated.add(cookie);
+                    }
+                }
+            }
+            // 已過期的新 Cookie 代表伺服器要求刪除，只移除舊值不再加入
+            for (Cookie cookie : cookies) {
+                if (cookie.expiresAt() > now) {
+                    updated.add(cookie);
+                }
+            }
+            replace(host, updated);
+        }
+        scheduleFlush();
+    }
+
+    @Override
+    public List<Cookie> loadForRequest(HttpUrl url) {
+        List<Cookie> cookies = cookieStore.get(url.host());
+        if (cookies == null) {
+            return Collections.emptyList();
+        }
+
+        long now = System.currentTimeMillis();
+        List<Cookie> result = null;
+        boolean hasExpired = false;
+        for (int i = 0; i < cookies.size(); i++) {
+            Cookie cookie = cookies.get(i);
+            boolean expired = cookie.expiresAt() <= now;
+            hasExpired |= expired;
+            boolean usable = !expired && cookie.matches(url);
+            // 大多數情況全部可用，直接返回快照不做複製
+            if (!usable && result == null) {
+                result = new ArrayList<>(cookies.subList(0, i));
+            } else if (usable && result != null) {
+                result.add(cookie);
+            }
+        }
+
+        if (hasExpired) {
+            purgeExpired(url.host());
+        }
+        return result != null ? result : cookies;
+    }
+
+    /**
+     * 立即將 Cookie 寫入磁碟
+     */
+    public void flush() {
+        if (file == null) {
+            return;
+        }
+        // 載入完成前寫回會用不完整的內容覆蓋文件
+        awaitLoaded();
+        flushScheduled.set(false);
+
+        long now = System.currentTimeMillis();
+        File temp = new File(file.getPath() + ".tmp");
+        try (BufferedWriter out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(temp), UTF_8))) {
+            for (Map.Entry<String, List<Cookie>> entry : cookieStore.entrySet()) {
+                for (Cookie cookie : entry.getValue()) {
+                    if (cookie.expiresAt() > now) {
+                        out.write(encode(entry.getKey(), cookie));
+                        out.newLine();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to write cookies", e);
+            return;
+        }
+        if (!temp.renameTo(file)) {
+            Log.w(TAG, "Failed to replace cookie file");
+        }
+    }
+
+    /**
+     * 停止延遲寫回並立即寫入磁碟；之後仍可讀寫內存中的 Cookie，但不再寫回
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        awaitLoaded();
+        closed = true;
+        // 丟棄排程中的延遲寫回，等正在執行的寫回結束後再同步寫入一次
+        writer.shutdownNow();
+        try {
+            writer.awaitTermination(CLOSE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    /**
+     * 等待持久化文件載入完成
+     */
+    void awaitLoaded() {
+        try {
+            loaded.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void scheduleFlush() {
+        if (file != null && !closed && flushScheduled.compareAndSet(false, true)) {
+            try {
+                writer.schedule(this::flush, FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // 與 close() 同時發生，已由 close() 寫回
+                flushScheduled.set(false);
+            }
+        }
+    }
+
+    private void purgeExpired(String host) {
+        long now = System.currentTimeMillis();
+        synchronized (lockFor(host)) {
+            List<Cookie> current = cookieStore.get(host);
+            if (current == null) {
+                return;
+            }
+            List<Cookie> updated = new ArrayList<>();
+            for (Cookie cookie : current) {
+                if (cookie.expiresAt() > now) {
+                    updated.add(cookie);
+                }
+            }
+            replace(host, updated);
+        }
+        scheduleFlush();
+    }
+
+    private void replace(String host, List<Cookie> cookies) {
+        if (cookies.isEmpty()) {
+            cookieStore.remove(host);
+        } else {
+            cookieStore.put(host, Collections.unmodifiableList(cookies));
+        }
+    }
+
+    private Object lockFor(String host) {
+        return locks[(host.hashCode() & 0x7fffffff) % LOCK_STRIPES];
+    }
+
+    private static boolean isReplacedBy(Cookie cookie, List<Cookie> newCookies) {
+        for (Cookie newCookie : newCookies) {
+            if (newCookie.name().equals(cookie.name())
+                    && newCookie.domain().equals(cookie.domain())
+                    && newCookie.path().equals(cookie.path())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void load() {
+        try {
+            merge(readFile());
+        } finally {
+            loaded.countDown();
+        }
+    }
+
+    private Map<String, List<Cookie>> readFile() {
+        Map<String, List<Cookie>> restored = new HashMap<>();
+        if (!file.exists()) {
+            return restored;
+        }
+
+        long now = System.currentTimeMillis();
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(new FileInputStream(file), UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] fields = line.split("\t", -1);
+                if (fields.length != 10) {
+                    continue;
+                }
+                Cookie cookie = decode(fields);
+                if (cookie == null || cookie.expiresAt() <= now) {
+                    continue;
+                }
+                List<Cookie> cookies = restored.get(fields[0]);
+                if (cookies == null) {
+                    cookies = new ArrayList<>();
+                    restored.put(fields[0], cookies);
+                }
+                cookies.add(cookie);
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to read cookies", e);
+        }
+        return restored;
+    }
+
+    /**
+     * 每個主機整份替換一次，讀取方不會看到載入一半的列表；載入期間收到的同名 Cookie 較新，予以保留
+     */
+    private void merge(Map<String, List<Cookie>> restored) {
+        int count = 0;
+        for (Map.Entry<String, List<Cookie>> entry : restored.entrySet()) {
+            String host = entry.getKey();
+            synchronized (lockFor(host)) {
+                List<Cookie> current = cookieStore.get(host);
+                List<Cookie> updated = new ArrayList<>();
+                for (Cookie cookie : entry.getValue()) {
+                    if (current == null || !isReplacedBy(cookie, current)) {
+                        updated.add(cookie);
+                        count++;
+                    }
+                }
+                if (current != null) {
+                    updated.addAll(current);
+                }
+                replace(host, updated);
+            }
+        }
+        Log.d(TAG, "Restored " + count + " cookies");
+    }
+
+    // Cookie 的名稱和值不允許包含空白字元，可安全地以 Tab 分隔
+    private static String encode(String host, Cookie cookie) {
+        return host + "\t" + cookie.name() + "\t" + cookie.value() + "\t" + cookie.expiresAt()
+                + "\t" + cookie.domain() + "\t" + cookie.path() + "\t" + cookie.secure()
+                + "\t" + cookie.httpOnly() + "\t" + cookie.hostOnly() + "\t" + cookie.persistent();
+    }
+
+    private static Cookie decode(String[] fields) {
+        try {
+            Cookie.Builder builder = new Cookie.Builder()
+                    .name(fields[1])
+                    .value(fields[2])
+                    .path(fields[5]);
+            if (Boolean.parseBoolean(fields[8])) {
+                builder.hostOnlyDomain(fields[4]);
+            } else {
+                builder.domain(fields[4]);
+            }
+            if (Boolean.parseBoolean(fields[9])) {
+                builder.expiresAt(Long.parseLong(fields[3]));
+            }
+            if (Boolean.parseBoolean(fields[6])) {
+                builder.secure();
+            }
+            if (Boolean.parseBoolean(fields[7])) {
+                builder.httpOnly();
+            }
+            return builder.build();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
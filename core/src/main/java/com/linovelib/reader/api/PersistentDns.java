@@ -0,0 +1,192 @@
+package com.linovelib.reader.api;
+
+import com.linovelib.reader.log.Log;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import okhttp3.Dns;
+
+/**
+ * 可持久化的 DNS 快取
+ * - TTL 內直接使用快取結果
+ * - 過期但未超過最長保留時間時先返回舊結果，同時在背景重新解析
+ * - 系統解析失敗時退回舊結果
+ * - 持久化文件在背景線程載入，載入完成前直接使用系統解析
+ */
+public class PersistentDns implements Dns {
+    private static final String TAG = "PersistentDns";
+    private static final long TTL_MS = TimeUnit.MINUTES.toMillis(10);
+    private static final long MAX_STALE_MS = TimeUnit.DAYS.toMillis(1);
+    private static final long FLUSH_DELAY_MS = 2000;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Boolean> refreshing = new ConcurrentHashMap<>();
+    private final File file;
+    private final ScheduledExecutorService worker;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private volatile boolean loaded;
+
+    /**
+     * @param file 持久化文件，為 null 時僅保存在內存
+     */
+    public PersistentDns(File file) {
+        this.file = file;
+        worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dns-cache");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (file != null) {
+            // 單線程執行器按提交順序執行，之後排程的寫回必定在載入之後
+            worker.execute(this::load);
+        } else {
+            loaded = true;
+        }
+    }
+
+    @Override
+    public List<InetAddress> lookup(String hostname) throws UnknownHostException {
+        Entry entry = loaded ? entries.get(hostname) : null;
+        long now = System.currentTimeMillis();
+        if (entry != null) {
+            long age = now - entry.resolvedAt;
+            if (age < TTL_MS) {
+                return entry.addresses;
+            }
+            if (age < MAX_STALE_MS) {
+                refreshInBackground(hostname);
+                return entry.addresses;
+            }
+        }
+
+        try {
+            return resolve(hostname);
+        } catch (UnknownHostException e) {
+            if (entry != null) {
+                Log.w(TAG, "Lookup failed, using stale addresses for " + hostname);
+                return entry.addresses;
+            }
+            throw e;
+        }
+    }
+
+    private List<InetAddress> resolve(String hostname) throws UnknownHostException {
+        List<InetAddress> addresses = Dns.SYSTEM.lookup(hostname);
+        entries.put(hostname, new Entry(Collections.unmodifiableList(new ArrayList<>(addresses)),
+                System.currentTimeMillis()));
+        scheduleFlush();
+        return addresses;
+    }
+
+    private void refreshInBackground(String hostname) {
+        if (refreshing.putIfAbsent(hostname, Boolean.TRUE) != null) {
+            return;
+        }
+        worker.execute(() -> {
+            try {
+                resolve(hostname);
+            } catch (UnknownHostException e) {
+                Log.w(TAG, "Background refresh failed for " + hostname);
+            } finally {
+                refreshing.remove(hostname);
+            }
+        });
+    }
+
+    private void scheduleFlush() {
+        if (file != null && flushScheduled.compareAndSet(false, true)) {
+            worker.schedule(this::flush, FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+        File temp = new File(file.getPath() + ".tmp");
+        try (BufferedWriter out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(temp), UTF_8))) {
+            for (Map.Entry<String, Entry> item : entries.entrySet()) {
+                StringBuilder line = new StringBuilder();
+                line.append(item.getKey()).append('\t').append(item.getValue().resolvedAt);
+                for (InetAddress address : item.getValue().addresses) {
+                    line.append('\t').append(address.getHostAddress());
+                }
+                out.write(line.toString());
+                out.newLine();
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to write DNS cache", e);
+            return;
+        }
+        if (!temp.renameTo(file)) {
+            Log.w(TAG, "Failed to replace DNS cache file");
+        }
+    }
+
+    private void load() {
+        try {
+            readFile();
+        } finally {
+            loaded = true;
+        }
+    }
+
+    private void readFile() {
+        if (!file.exists()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(new FileInputStream(file), UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] fields = line.split("\t");
+                if (fields.length < 3) {
+                    continue;
+                }
+                long resolvedAt = Long.parseLong(fields[1]);
+                if (now - resolvedAt >= MAX_STALE_MS) {
+                    continue;
+                }
+                List<InetAddress> addresses = new ArrayList<>();
+                for (int i = 2; i < fields.length; i++) {
+                    // 字面 IP 不會觸發 DNS 查詢
+                    InetAddress literal = InetAddress.getByName(fields[i]);
+                    addresses.add(InetAddress.getByAddress(fields[0], literal.getAddress()));
+                }
+                // 載入期間已重新解析的主機保留較新的結果
+                entries.putIfAbsent(fields[0], new Entry(Collections.unmodifiableList(addresses), resolvedAt));
+            }
+        } catch (IOException | NumberFormatException e) {
+            Log.w(TAG, "Failed to read DNS cache", e);
+        }
+    }
+
+    private static class Entry {
+        final List<InetAddress> addresses;
+        final long resolvedAt;
+
+        Entry(List<InetAddress> addresses, long resolvedAt) {
+            this.addresses = addresses;
+            this.resolvedAt = resolvedAt;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.linovelib.reader.api;
+
+import com.linovelib.reader.metrics.Metrics;
+import com.linovelib.reader.metrics.Metrics.Phase;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Response;
+
+/**
+ * 將每個請求的 DNS / 連線 / TLS / 首字節 / 響應體耗時記入 Metrics
+ * 每個 Call 一個實例，重試和重定向時同一階段可能記錄多次
+ */
+class PhaseTimingListener extends EventListener {
+    static final EventListener.Factory FACTORY = call -> new PhaseTimingListener(Metrics.getInstance());
+
+    private final Metrics metrics;
+    private long callStart;
+    private long dnsStart;
+    private long connectStart;
+    private long secureConnectStart;
+    private long requestStart;
+    private long bodyStart;
+
+    private PhaseTimingListener(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void callStart(Call call) {
+        callStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        dnsStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+        metrics.recordSince(Phase.DNS, dnsStart);
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        connectStart = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        secureConnectStart = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        metrics.recordSince(Phase.TLS, secureConnectStart);
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+        // 包含 TLS 握手
+        metrics.recordSince(Phase.CONNECT, connectStart);
+    }
+
+    @Override
+    public void connectFailed(Call call, InetSocketAddress inetSocketAddress, Proxy proxy,
+                              Protocol protocol, IOException ioe) {
+        metrics.recordSince(Phase.CONNECT, connectStart);
+    }
+
+    @Override
+    public void requestHeadersStart(Call call) {
+        requestStart = System.nanoTime();
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        if (requestStart != 0) {
+            metrics.recordSince(Phase.TTFB, requestStart);
+        }
+    }
+
+    @Override
+    public void responseHeadersEnd(Call call, Response response) {
+        requestStart = 0;
+    }
+
+    @Override
+    public void responseBodyStart(Call call) {
+        bodyStart = System.nanoTime();
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        metrics.recordSince(Phase.BODY, bodyStart);
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        metrics.recordSince(Phase.CALL, callStart);
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        metrics.recordSince(Phase.CALL, callStart);
+    }
+
+    @Override
+    public void requestFailed(Call call, IOException ioe) {
+        requestStart = 0;
+    }
+}
@@ -0,0 +1,286 @@
+package com.linovelib.reader.api;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+
+/**
+ * 網路請求調度器
+ * - 按優先級分道執行任務，每條通道有獨立的工作線程，後台任務不會佔滿前台線程
+ * - 每個主機限制同時進行的請求數，並以令牌桶限制請求速率
+ * - 等待名額時高優先級請求先行，且始終為閱讀頁保留一個名額
+ */
+public class RequestScheduler {
+    private static final int MAX_REQUESTS_PER_HOST = 4;
+    private static final double TOKENS_PER_SECOND = 8;
+    private static final double TOKEN_BUCKET_SIZE = 12;
+    private static final int THREADS_PER_LANE = 2;
+
+    public enum Priority {
+        /** 閱讀頁章節載入 */
+        INTERACTIVE,
+        /** 目錄、詳情、首頁 */
+        BROWSE,
+        /** 預取與下載 */
+        BACKGROUND
+    }
+
+    private static RequestScheduler instance;
+    private static final ThreadLocal<Priority> currentPriority = new ThreadLocal<>();
+
+    private final Map<Priority, ExecutorService> lanes = new EnumMap<>(Priority.class);
+    private final Map<String, HostState> hosts = new HashMap<>();
+    private long waiterSequence;
+
+    private RequestScheduler() {
+        for (Priority priority : Priority.values()) {
+            lanes.put(priority, Executors.newFixedThreadPool(THREADS_PER_LANE, new LaneThreadFactory(priority)));
+        }
+    }
+
+    public static synchronized RequestScheduler getInstance() {
+        if (instance == null) {
+            instance = new RequestScheduler();
+        }
+        return instance;
+    }
+
+    /**
+     * 以指定優先級執行任務，任務內發出的請求都沿用此優先級
+     */
+    public void submit(Priority priority, Runnable task) {
+        lanes.get(priority).execute(() -> {
+            currentPriority.set(priority);
+            try {
+                task.run();
+            } finally {
+                currentPriority.remove();
+            }
+        });
+    }
+
+    /**
+     * 當前線程的請求優先級，未經調度器執行的線程視為 BROWSE
+     */
+    public static Priority currentPriority() {
+        Priority priority = currentPriority.get();
+        return priority != null ? priority : Priority.BROWSE;
+    }
+
+    /**
+     * 包裝任務使其在其他線程上沿用當前線程的優先級
+     */
+    public static <T> Callable<T> withCurrentPriority(Callable<T> task) {
+        Priority priority = currentPriority();
+        return () -> {
+            Priority previous = currentPriority.get();
+            currentPriority.set(priority);
+            try {
+                return task.call();
+            } finally {
+                if (previous != null) {
+                    currentPriority.set(previous);
+                } else {
+                    currentPriority.remove();
+                }
+            }
+        };
+    }
+
+    /**
+     * 取得主機名額時的回調，以 Request tag 附在請求上
+     */
+    interface SlotListener {
+        void onSlotGranted();
+    }
+
+    /**
+     * 網路攔截器：只有真正發往網路的請求才佔用名額，快取命中不受限制
+     * 名額在回應內容關閉後才釋放
+     */
+    Interceptor networkInterceptor() {
+        return chain -> {
+            String host = chain.request().url().host();
+            acquire(host, currentPriority());
+            SlotListener listener = chain.request().tag(SlotListener.class);
+            if (listener != null) {
+                listener.onSlotGranted();
+            }
+
+            Response response;
+            try {
+                response = chain.proceed(chain.request());
+            } catch (IOException | RuntimeException e) {
+                release(host);
+                throw e;
+            }
+
+            ResponseBody body = response.body();
+            if (body == null) {
+                release(host);
+                return response;
+            }
+            return response.newBuilder()
+                    .body(new ReleasingResponseBody(body, () -> release(host)))
+                    .build();
+        };
+    }
+
+    synchronized void acquire(String host, Priority priority) throws InterruptedIOException {
+        HostState state = hostState(host);
+        Waiter waiter = new Waiter(priority, waiterSequence++);
+        state.waiters.add(waiter);
+        try {
+            while (true) {
+                state.refill();
+                boolean isNext = state.waiters.peek() == waiter;
+                if (isNext && state.active < limitFor(priority) && state.tokens >= 1) {
+                    state.waiters.poll();
+                    state.active++;
+                    state.tokens -= 1;
+                    // 讓下一個排隊者重新檢查條件
+                    notifyAll();
+                    return;
+                }
+                // 只差令牌時等到下一個令牌產生，否則等其他請求釋放名額
+                long waitMillis = 0;
+                if (isNext && state.active < limitFor(priority)) {
+                    waitMillis = Math.max(1, (long) Math.ceil((1 - state.tokens) * 1000 / TOKENS_PER_SECOND));
+                }
+                wait(waitMillis);
+            }
+        } catch (InterruptedException e) {
+            state.waiters.remove(waiter);
+            notifyAll();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for " + host);
+        }
+    }
+
+    synchronized void release(String host) {
+        hostState(host).active--;
+        notifyAll();
+    }
+
+    /**
+     * 主機當前佔用的名額數
+     */
+    synchronized int activeRequests(String host) {
+        return hostState(host).active;
+    }
+
+    private int limitFor(Priority priority) {
+        return priority == Priority.INTERACTIVE ? MAX_REQUESTS_PER_HOST : MAX_REQUESTS_PER_HOST - 1;
+    }
+
+    private HostState hostState(String host) {
+        HostState state = hosts.get(host);
+        if (state == null) {
+            state = new HostState();
+            hosts.put(host, state);
+        }
+        return state;
+    }
+
+    private static class HostState {
+        final PriorityQueue<Waiter> waiters = new PriorityQueue<>();
+        int active;
+        double tokens = TOKEN_BUCKET_SIZE;
+        long lastRefillNanos = System.nanoTime();
+
+        void refill() {
+            long now = System.nanoTime();
+            tokens = Math.min(TOKEN_BUCKET_SIZE, tokens + (now - lastRefillNanos) / 1e9 * TOKENS_PER_SECOND);
+            lastRefillNanos = now;
+        }
+    }
+
+    private static class Waiter implements Comparable<Waiter> {
+        final Priority priority;
+        final long sequence;
+
+        Waiter(Priority priority, long sequence) {
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Waiter other) {
+            int result = priority.compareTo(other.priority);
+            return result != 0 ? result : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private static class LaneThreadFactory implements ThreadFactory {
+        private final Priority priority;
+        private final AtomicInteger count = new AtomicInteger();
+
+        LaneThreadFactory(Priority priority) {
+            this.priority = priority;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "request-" + priority.name().toLowerCase() + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    /**
+     * 關閉時歸還主機名額的回應內容
+     */
+    private static class ReleasingResponseBody extends ResponseBody {
+        private final ResponseBody delegate;
+        private final BufferedSource source;
+
+        ReleasingResponseBody(ResponseBody delegate, Runnable onClose) {
+            this.delegate = delegate;
+            AtomicBoolean released = new AtomicBoolean();
+            this.source = Okio.buffer(new ForwardingSource(delegate.source()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        if (released.compareAndSet(false, true)) {
+                            onClose.run();
+                        }
+                    }
+                }
+            });
+        }
+
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return delegate.contentLength();
+        }
+
+        @Override
+        public BufferedSource source() {
+            return source;
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package com.linovelib.reader.api;
+
+import com.linovelib.reader.log.Log;
+import com.linovelib.reader.metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Call;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * 請求容錯層
+ * - 按頁面類型設定整體超時
+ * - 網路錯誤和暫時性狀態碼以指數退避加隨機抖動重試
+ * - GET 請求超過該類型 p95 延遲仍未回應時，發出第二個對沖請求，取先成功者
+ * 延遲從取得調度器的主機名額起計，不含排隊時間；仍在排隊的請求不對沖，以免在主機已滿載時再加請求
+ */
+class ResilientCaller {
+    private static final String TAG = "ResilientCaller";
+    private static final int MAX_RETRIES = 2;
+    private static final long BACKOFF_BASE_MS = 300;
+    private static final long BACKOFF_CAP_MS = 3000;
+    // 樣本不足時不對沖，且門檻不低於此值，避免在快速網路上濫發請求
+    private static final int HEDGE_MIN_SAMPLES = 20;
+    private static final long HEDGE_MIN_DELAY_MS = 300;
+
+    private final Call.Factory client;
+    private final ExecutorService hedgeExecutor;
+    private final Map<Endpoint, LatencyHistogram> latencies = new EnumMap<>(Endpoint.class);
+    private final AtomicLong retryCount = new AtomicLong();
+    private final AtomicLong hedgeCount = new AtomicLong();
+    private final AtomicLong hedgeWinCount = new AtomicLong();
+    private volatile boolean hedgingEnabled = true;
+
+    ResilientCaller(Call.Factory client) {
+        this.client = client;
+        for (Endpoint endpoint : Endpoint.values()) {
+            latencies.put(endpoint, new LatencyHistogram());
+        }
+        hedgeExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "hedged-call");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    Response execute(Request request) throws IOException {
+        Endpoint endpoint = Endpoint.of(request.url());
+        IOException lastError = null;
+
+        for (int attempt = 0; attempt <= MAX_RETRIES; attempt++) {
+            if (attempt > 0) {
+                retryCount.incrementAndGet();
+                sleepBeforeRetry(attempt);
+                Log.d(TAG, "Retry " + attempt + " for " + request.url());
+            }
+
+            try {
+                Response response = executeAttempt(request, endpoint);
+                if (attempt < MAX_RETRIES && isRetryable(response)) {
+                    lastError = new IOException("Unexpected code " + response);
+                    response.close();
+                    continue;
+                }
+                return response;
+            } catch (IOException e) {
+                // 被取消、線程中斷或遇到驗證頁時不再重試
+                if (e instanceof ChallengeException
+                        || Thread.currentThread().isInterrupted() || "Canceled".equals(e.getMessage())) {
+                    throw e;
+                }
+                lastError = e;
+            }
+        }
+        throw lastError;
+    }
+
+    void setHedgingEnabled(boolean enabled) {
+        this.hedgingEnabled = enabled;
+    }
+
+    long getRetryCount() {
+        return retryCount.get();
+    }
+
+    long getHedgeCount() {
+        return hedgeCount.get();
+    }
+
+    long getHedgeWinCount() {
+        return hedgeWinCount.get();
+    }
+
+    LatencyHistogram getLatency(Endpoint endpoint) {
+        return latencies.get(endpoint);
+    }
+
+    private Response executeAttempt(Request request, Endpoint endpoint) throws IOException {
+        long hedgeDelay = hedgeDelayMillis(request, endpoint);
+        if (hedgeDelay <= 0) {
+            SlotTiming timing = new SlotTiming(null);
+            Response response = newCall(request, endpoint, timing).execute();
+            recordLatency(endpoint, timing);
+            return response;
+        }
+
+        HedgedRace race = new HedgedRace(endpoint);
+        SlotTiming primaryTiming = new SlotTiming(race);
+        Call primary = newCall(request, endpoint, primaryTiming);
+        race.launch(primary, primaryTiming);
+        try {
+            Response response = race.awaitHedge(primaryTiming, hedgeDelay);
+            if (response == null) {
+                hedgeCount.incrementAndGet();
+                Log.d(TAG, "Hedging slow request after " + hedgeDelay + "ms: " + request.url());
+                SlotTiming hedgeTiming = new SlotTiming(race);
+                race.launch(newCall(request, endpoint, hedgeTiming), hedgeTiming);
+                response = race.await();
+                if (race.winner() != primary) {
+                    hedgeWinCount.incrementAndGet();
+                }
+            }
+            return response;
+        } finally {
+            race.cancelLosers();
+        }
+    }
+
+    private long hedgeDelayMillis(Request request, Endpoint endpoint) {
+        if (!hedgingEnabled || !"GET".equals(request.method())) {
+            return 0;
+        }
+        LatencyHistogram histogram = latencies.get(endpoint);
+        if (histogram.getCount() < HEDGE_MIN_SAMPLES) {
+            return 0;
+        }
+        return Math.max(HEDGE_MIN_DELAY_MS, histogram.percentile(0.95));
+    }
+
+    private Call newCall(Request request, Endpoint endpoint, SlotTiming timing) {
+        Call call = client.newCall(request.newBuilder()
+                .tag(RequestScheduler.SlotListener.class, timing)
+                .build());
+        call.timeout().timeout(endpoint.getTimeoutSeconds(), TimeUnit.SECONDS);
+        return call;
+    }
+
+    /**
+     * 只記錄實際發往網路的請求；快取命中沒有經過調度器，不計入
+     */
+    private void recordLatency(Endpoint endpoint, SlotTiming timing) {
+        long granted = timing.grantedNanos();
+        if (granted != 0) {
+            latencies.get(endpoint).record(elapsedMillis(granted));
+        }
+    }
+
+    private static boolean isRetryable(Response response) {
+        int code = response.code();
+        return code == 408 || code == 429 || code == 500 || code == 502 || code == 503 || code == 504;
+    }
+
+    private static void sleepBeforeRetry(int attempt) throws InterruptedIOException {
+        // Full jitter：在 [0, min(cap, base * 2^attempt)) 之間隨機等待
+        long ceiling = Math.min(BACKOFF_CAP_MS, BACKOFF_BASE_MS << attempt);
+        long delay = ThreadLocalRandom.current().nextLong(ceiling);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted during retry backoff");
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * 記錄請求取得主機名額的時刻 (重定向等後續請求會覆蓋為最後一次)
+     */
+    private static class SlotTiming implements RequestScheduler.SlotListener {
+        private final HedgedRace race;
+        private volatile long grantedNanos;
+
+        SlotTiming(HedgedRace race) {
+            this.race = race;
+        }
+
+        @Override
+        public void onSlotGranted() {
+            grantedNanos = System.nanoTime();
+            if (race != null) {
+                race.signal();
+            }
+        }
+
+        /**
+         * 取得名額的時刻，仍在排隊或未發往網路時為 0
+         */
+        long grantedNanos() {
+            return grantedNanos;
+        }
+    }
+
+    /**
+     * 多個相同請求競速，第一個不需重試的回應勝出，其餘取消並關閉
+     * 可重試的回應 (如 503) 只在全部請求結束仍無勝者時作為結果，由重試循環處理；
+     * 等待方放棄 (例如被中斷) 後才到達的回應一律關閉，否則其佔用的主機名額永遠不會歸還
+     */
+    private class HedgedRace {
+        private final Endpoint endpoint;
+        private final List<Call> calls = new ArrayList<>();
+        private Call winnerCall;
+        private Response winner;
+        private Call fallbackCall;
+        private Response fallback;
+        private IOException lastError;
+        private int running;
+        // 結果已交給調用方
+        private boolean delivered;
+        // 調用方已不再等待，之後到達的回應都需關閉
+        private boolean abandoned;
+
+        HedgedRace(Endpoint endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        synchronized void launch(Call call, SlotTiming timing) {
+            calls.add(call);
+            running++;
+            hedgeExecutor.submit(RequestScheduler.withCurrentPriority(() -> {
+                run(call, timing);
+                return null;
+            }));
+        }
+
+        synchronized void signal() {
+            notifyAll();
+        }
+
+        private void run(Call call, SlotTiming timing) {
+            Response response = null;
+            IOException error = null;
+            try {
+                response = call.execute();
+                recordLatency(endpoint, timing);
+            } catch (IOException e) {
+                error = e;
+            }
+
+            Response unused = null;
+            synchronized (this) {
+                running--;
+                if (response == null) {
+                    lastError = error;
+                } else if (abandoned || winner != null) {
+                    unused = response;
+                } else if (!isRetryable(response)) {
+                    winner = response;
+                    winnerCall = call;
+                    unused = fallback;
+                    fallback = null;
+                } else if (fallback == null) {
+                    fallback = response;
+                    fallbackCall = call;
+                } else {
+                    unused = response;
+                }
+                notifyAll();
+            }
+            if (unused != null) {
+                unused.close();
+            }
+        }
+
+        /**
+         * 等待勝出的回應；timing 對應的請求取得名額後超過 delayMillis 仍未完成時返回 null，
+         * 仍在排隊 (或命中快取未發往網路) 時一直等待
+         */
+        synchronized Response awaitHedge(SlotTiming timing, long delayMillis) throws IOException {
+            try {
+                while (winner == null && running > 0) {
+                    long granted = timing.grantedNanos();
+                    if (granted == 0) {
+                        wait();
+                        continue;
+                    }
+                    long remaining = delayMillis - elapsedMillis(granted);
+                    if (remaining <= 0) {
+                        return null;
+                    }
+                    wait(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for response");
+            }
+            return result();
+        }
+
+        /**
+         * 一直等待直到有回應勝出或全部結束
+         */
+        synchronized Response await() throws IOException {
+            try {
+                while (winner == null && running > 0) {
+                    wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for response");
+            }
+            return result();
+        }
+
+        /**
+         * 勝出的回應；全部結束仍無勝者時返回可重試的回應，都沒有則拋出最後的錯誤
+         */
+        private Response result() throws IOException {
+            if (winner == null && fallback != null) {
+                winner = fallback;
+                winnerCall = fallbackCall;
+                fallback = null;
+            }
+            if (winner != null) {
+                delivered = true;
+                return winner;
+            }
+            throw lastError;
+        }
+
+        synchronized Call winner() {
+            return winnerCall;
+        }
+
+        /**
+         * 結束競速 (正常返回或異常時都需調用)：取消其餘請求，關閉未交出的回應
+         */
+        void cancelLosers() {
+            List<Response> unused = new ArrayList<>(2);
+            synchronized (this) {
+                abandoned = true;
+                for (Call call : calls) {
+                    if (call != winnerCall || !delivered) {
+                        call.cancel();
+                    }
+                }
+                if (winner != null && !delivered) {
+                    unused.add(winner);
+                }
+                if (fallback != null) {
+                    unused.add(fallback);
+                }
+                winner = delivered ? winner : null;
+                fallback = null;
+            }
+            for (Response response : unused) {
+                response.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.linovelib.reader.api;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 合併相同的進行中請求：同一個鍵同時只執行一次，其他調用者等待並共用結果
+ */
+class SingleFlight {
+    private final ConcurrentHashMap<String, FutureTask<?>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong duplicatesSaved = new AtomicLong();
+
+    @SuppressWarnings("unchecked")
+    <T> T execute(String key, Callable<T> loader) throws IOException {
+        FutureTask<T> task = new FutureTask<>(loader);
+        FutureTask<?> existing = inFlight.putIfAbsent(key, task);
+        if (existing != null) {
+            duplicatesSaved.incrementAndGet();
+            return (T) await(existing);
+        }
+
+        try {
+            task.run();
+            return await(task);
+        } finally {
+            inFlight.remove(key, task);
+        }
+    }
+
+    /**
+     * 在此之外合併的請求 (例如串流目錄的重放) 也計入省下的請求數
+     */
+    void recordDuplicate() {
+        duplicatesSaved.incrementAndGet();
+    }
+
+    /**
+     * 因合併而省下的重複請求數
+     */
+    long getDuplicatesSaved() {
+        return duplicatesSaved.get();
+    }
+
+    private static <T> T await(FutureTask<T> task) throws IOException {
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            InterruptedIOException exception = new InterruptedIOException("Interrupted while waiting for request");
+            exception.initCause(e);
+            throw exception;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.linovelib.reader.fixture;
+
+import com.linovelib.reader.log.Log;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * 把成功的 HTML 回應錄製到目錄，供 FixtureServer 離線回放
+ * 目錄為 null 時不做任何處理
+ */
+public class FixtureRecorder implements Interceptor {
+    private static final String TAG = "FixtureRecorder";
+    private static final long MAX_RECORD_BYTES = 4L * 1024 * 1024;
+
+    private volatile File directory;
+
+    /**
+     * 設定錄製目錄，null 為停止錄製
+     */
+    public void setDirectory(File directory) {
+        this.directory = directory;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+        File root = directory;
+        if (root == null || !"GET".equals(request.method()) || !response.isSuccessful()) {
+            return response;
+        }
+        ResponseBody body = response.body();
+        MediaType contentType = body != null ? body.contentType() : null;
+        if (contentType == null || !"html".equals(contentType.subtype())) {
+            return response;
+        }
+
+        // peekBody 不消耗原回應，調用方照常讀取
+        byte[] bytes = response.peekBody(MAX_RECORD_BYTES).bytes();
+        HttpUrl url = request.url();
+        String pathAndQuery = url.encodedQuery() != null
+                ? url.encodedPath() + "?" + url.encodedQuery()
+                : url.encodedPath();
+        File file = new File(root, FixtureServer.relativePath(pathAndQuery));
+        File parent = file.getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            Log.w(TAG, "Cannot create " + parent);
+            return response;
+        }
+        try (OutputStream out = new FileOutputStream(file)) {
+            out.write(bytes);
+            Log.d(TAG, "Recorded " + url + " -> " + file);
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to record " + url, e);
+        }
+        return response;
+    }
+}
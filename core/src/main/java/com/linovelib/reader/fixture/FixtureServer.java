@@ -0,0 +1,245 @@
+package com.linovelib.reader.fixture;
+
+import com.linovelib.reader.log.Log;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.Charset;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 本地的 HTTP/1.1 夾具服務器，按請求路徑返回預先錄製的頁面
+ * 用於離線重現完整的抓取→解析流程，配合 FaultInjector 模擬慢速網路
+ *
+ * 路徑到文件的對應見 {@link #relativePath(String)}，可直接使用 FixtureRecorder 錄製的目錄
+ */
+public class FixtureServer implements Closeable {
+    private static final String TAG = "FixtureServer";
+    private static final Charset ISO_8859_1 = Charset.forName("ISO-8859-1");
+    private static final int MAX_HEADER_BYTES = 16 * 1024;
+
+    private final File root;
+    private final ServerSocket serverSocket;
+    private final ExecutorService workers;
+    private final AtomicLong requestCount = new AtomicLong();
+    private volatile boolean closed;
+
+    /**
+     * @param root 夾具根目錄
+     * @param port 監聽端口，0 為自動分配
+     */
+    public FixtureServer(File root, int port) throws IOException {
+        this.root = root;
+        this.serverSocket = new ServerSocket(port, 50, InetAddress.getByName("127.0.0.1"));
+        this.workers = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "fixture-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        workers.execute(this::acceptLoop);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * 可作為鏡像主機傳給 LinovelibAPI.init() 的根 URL
+     */
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + getPort();
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        serverSocket.close();
+        workers.shutdownNow();
+    }
+
+    /**
+     * 請求路徑 (可帶查詢字串) 對應的夾具相對路徑
+     * - 以 / 結尾的路徑對應其下的 index.html
+     * - 沒有副檔名的路徑補上 .html (例如 /novel/1/catalog → novel/1/catalog.html)
+     * - 查詢字串中的特殊字元替換為 _ 後附加在文件名之後
+     */
+    public static String relativePath(String pathAndQuery) {
+        String path = pathAndQuery;
+        String query = null;
+        int queryStart = path.indexOf('?');
+        if (queryStart >= 0) {
+            query = path.substring(queryStart + 1);
+            path = path.substring(0, queryStart);
+        }
+        if (path.isEmpty() || path.endsWith("/")) {
+            path = path + "index.html";
+        }
+        if (path.startsWith("/")) {
+            path = path.substring(1);
+        }
+        int slash = path.lastIndexOf('/');
+        String name = path.substring(slash + 1);
+        String extension = "";
+        int dot = name.lastIndexOf('.');
+        if (dot > 0) {
+            extension = name.substring(dot);
+            name = name.substring(0, dot);
+        }
+        if (query != null && !query.isEmpty()) {
+            name = name + "_" + query.replaceAll("[^A-Za-z0-9._-]", "_");
+        }
+        if (extension.isEmpty()) {
+            extension = ".html";
+        }
+        return path.substring(0, slash + 1) + name + extension;
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                Socket socket = serverSocket.accept();
+                workers.execute(() -> serve(socket));
+            } catch (IOException e) {
+                if (!closed) {
+                    Log.w(TAG, "Accept failed", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 同一連線上依次處理多個請求 (keep-alive)，直到客戶端關閉
+     */
+    private void serve(Socket socket) {
+        try (Socket s = socket) {
+            InputStream in = new BufferedInputStream(s.getInputStream());
+            OutputStream out = s.getOutputStream();
+            String head;
+            while ((head = readHead(in)) != null) {
+                requestCount.incrementAndGet();
+                String[] requestLine = head.substring(0, head.indexOf("\r\n")).split(" ");
+                if (requestLine.length < 3) {
+                    writeResponse(out, 400, "Bad Request", "text/plain", new byte[0], false);
+                    break;
+                }
+                String method = requestLine[0];
+                boolean keepAlive = !head.toLowerCase(Locale.US).contains("\r\nconnection: close");
+                if (!method.equals("GET") && !method.equals("HEAD")) {
+                    // 不讀取請求體，無法繼續在此連線上處理後續請求
+                    writeResponse(out, 405, "Method Not Allowed", "text/plain", new byte[0], false);
+                    break;
+                } else {
+                    File file = new File(root, relativePath(requestLine[1]));
+                    if (file.isFile() && file.getCanonicalPath().startsWith(root.getCanonicalPath())) {
+                        writeResponse(out, 200, "OK", contentType(file), readFile(file), method.equals("HEAD"));
+                    } else {
+                        writeResponse(out, 404, "Not Found", "text/plain", new byte[0], method.equals("HEAD"));
+                    }
+                }
+                if (!keepAlive) {
+                    break;
+                }
+            }
+        } catch (SocketException e) {
+            // 客戶端斷開
+        } catch (IOException e) {
+            Log.w(TAG, "Request failed", e);
+        }
+    }
+
+    /**
+     * 讀取請求行和請求頭，連線已關閉時返回 null
+     */
+    private static String readHead(InputStream in) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        int matched = 0;
+        int b;
+        while ((b = in.read()) != -1) {
+            buffer.write(b);
+            // 尋找 \r\n\r\n
+            if (b == '\r') {
+                matched = matched == 2 ? 3 : 1;
+            } else if (b == '\n' && (matched == 1 || matched == 3)) {
+                matched++;
+            } else {
+                matched = 0;
+            }
+            if (matched == 4) {
+                return new String(buffer.toByteArray(), ISO_8859_1);
+            }
+            if (buffer.size() > MAX_HEADER_BYTES) {
+                throw new IOException("Request header too large");
+            }
+        }
+        return null;
+    }
+
+    private static void writeResponse(OutputStream out, int code, String reason, String contentType,
+                                      byte[] body, boolean headOnly) throws IOException {
+        String head = "HTTP/1.1 " + code + " " + reason + "\r\n"
+                + "Content-Type: " + contentType + "\r\n"
+                + "Content-Length: " + body.length + "\r\n"
+                + "\r\n";
+        out.write(head.getBytes(ISO_8859_1));
+        if (!headOnly) {
+            out.write(body);
+        }
+        out.flush();
+    }
+
+    private static byte[] readFile(File file) throws IOException {
+        try (InputStream in = new FileInputStream(file)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream((int) file.length());
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private static String contentType(File file) {
+        String name = file.getName().toLowerCase(Locale.US);
+        if (name.endsWith(".html") || name.endsWith(".htm")) {
+            return "text/html; charset=utf-8";
+        } else if (name.endsWith(".jpg") || name.endsWith(".jpeg")) {
+            return "image/jpeg";
+        } else if (name.endsWith(".png")) {
+            return "image/png";
+        } else if (name.endsWith(".webp")) {
+            return "image/webp";
+        }
+        return "application/octet-stream";
+    }
+
+    /**
+     * 命令行啟動：FixtureServer <夾具目錄> [端口]
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: FixtureServer <fixture-dir> [port]");
+            System.exit(1);
+        }
+        FixtureServer server = new FixtureServer(new File(args[0]), args.length > 1 ? Integer.parseInt(args[1]) : 0);
+        System.out.println("Serving " + args[0] + " at " + server.getBaseUrl());
+        Thread.currentThread().join();
+    }
+}
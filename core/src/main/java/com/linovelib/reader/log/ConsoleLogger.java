@@ -0,0 +1,28 @@
+package com.linovelib.reader.log;
+
+/**
+ * 輸出到標準錯誤，供 JVM 上的測試和基準使用
+ */
+public class ConsoleLogger implements Logger {
+    private static final String LEVELS = "??VDIWE";
+
+    private final int minLevel;
+
+    /**
+     * @param minLevel 低於此級別的日誌丟棄
+     */
+    public ConsoleLogger(int minLevel) {
+        this.minLevel = minLevel;
+    }
+
+    @Override
+    public void log(int level, String tag, String message, Throwable throwable) {
+        if (level < minLevel) {
+            return;
+        }
+        System.err.println(LEVELS.charAt(level) + "/" + tag + ": " + message);
+        if (throwable != null) {
+            throwable.printStackTrace();
+        }
+    }
+}
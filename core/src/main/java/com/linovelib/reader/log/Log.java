@@ -0,0 +1,40 @@
+package com.linovelib.reader.log;
+
+/**
+ * core 模組的日誌入口，用法與 android.util.Log 相同
+ * 預設只把警告和錯誤輸出到標準錯誤，應用啟動時用 setLogger() 換成平台實現
+ */
+public final class Log {
+    private static volatile Logger logger = new ConsoleLogger(Logger.WARN);
+
+    private Log() {
+    }
+
+    public static void setLogger(Logger logger) {
+        Log.logger = logger;
+    }
+
+    public static void d(String tag, String message) {
+        logger.log(Logger.DEBUG, tag, message, null);
+    }
+
+    public static void i(String tag, String message) {
+        logger.log(Logger.INFO, tag, message, null);
+    }
+
+    public static void w(String tag, String message) {
+        logger.log(Logger.WARN, tag, message, null);
+    }
+
+    public static void w(String tag, String message, Throwable throwable) {
+        logger.log(Logger.WARN, tag, message, throwable);
+    }
+
+    public static void e(String tag, String message) {
+        logger.log(Logger.ERROR, tag, message, null);
+    }
+
+    public static void e(String tag, String message, Throwable throwable) {
+        logger.log(Logger.ERROR, tag, message, throwable);
+    }
+}
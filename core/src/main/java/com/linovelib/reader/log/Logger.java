@@ -0,0 +1,17 @@
+package com.linovelib.reader.log;
+
+/**
+ * 日誌輸出的實現，由運行環境提供 (Android 上轉發到 logcat)
+ */
+public interface Logger {
+    int DEBUG = 3;
+    int INFO = 4;
+    int WARN = 5;
+    int ERROR = 6;
+
+    /**
+     * @param level     DEBUG / INFO / WARN / ERROR，與 android.util.Log 的級別數值相同
+     * @param throwable 可為 null
+     */
+    void log(int level, String tag, String message, Throwable throwable);
+}
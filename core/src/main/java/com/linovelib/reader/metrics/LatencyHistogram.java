@@ -0,0 +1,94 @@
+package com.linovelib.reader.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 固定大小的延遲直方圖 (毫秒)
+ * 桶邊界按 1.25 倍等比增長，可覆蓋 1ms 到約 20 分鐘，誤差約 25%
+ */
+public class LatencyHistogram {
+    private static final int BUCKET_COUNT = 64;
+    private static final double GROWTH = 1.25;
+    private static final long[] UPPER_BOUNDS = new long[BUCKET_COUNT];
+
+    static {
+        double bound = 1;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            UPPER_BOUNDS[i] = (long) Math.ceil(bound);
+            bound *= GROWTH;
+        }
+    }
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long millis) {
+        long value = Math.max(0, millis);
+        counts.incrementAndGet(bucketOf(value));
+        total.incrementAndGet();
+        sum.addAndGet(value);
+        long currentMax;
+        while (value > (currentMax = max.get()) && !max.compareAndSet(currentMax, value)) {
+            // 重試直到更新成功
+        }
+    }
+
+    public long getCount() {
+        return total.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public long getMean() {
+        long count = total.get();
+        return count == 0 ? 0 : sum.get() / count;
+    }
+
+    /**
+     * 百分位數 (例如 0.95)，以所在桶的上界表示；沒有數據時返回 0
+     */
+    public long percentile(double quantile) {
+        long count = total.get();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * count);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(UPPER_BOUNDS[i], max.get());
+            }
+        }
+        return max.get();
+    }
+
+    public static int getBucketCount() {
+        return BUCKET_COUNT;
+    }
+
+    /**
+     * 第 index 個桶的上界 (毫秒，含)
+     */
+    public static long getBucketUpperBound(int index) {
+        return UPPER_BOUNDS[index];
+    }
+
+    public long getCountInBucket(int index) {
+        return counts.get(index);
+    }
+
+    private static int bucketOf(long millis) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (millis <= UPPER_BOUNDS[i]) {
+                return i;
+            }
+        }
+        return BUCKET_COUNT - 1;
+    }
+}
@@ -0,0 +1,127 @@
+package com.linovelib.reader.metrics;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 全局的分階段耗時統計
+ * 網路階段由 OkHttp EventListener 記錄，解析階段由 Parser 入口記錄
+ */
+public class Metrics {
+    private static Metrics instance;
+
+    /**
+     * 記錄的階段
+     */
+    public enum Phase {
+        DNS,
+        CONNECT,
+        TLS,
+        /** 請求頭發出到收到響應頭 */
+        TTFB,
+        /** 響應體下載 (串流解析時包含邊讀邊解析的時間) */
+        BODY,
+        /** 整個請求，包括快取命中 */
+        CALL,
+        /** 以下解析階段只計從 DOM 提取數據的時間，串流時 HTML 分詞已計入 BODY */
+        PARSE_HOME,
+        PARSE_DETAIL,
+        PARSE_CATALOG,
+        PARSE_CHAPTER,
+        /** 章節從請求到解析完成 */
+        CHAPTER_LOAD
+    }
+
+    private final Map<Phase, LatencyHistogram> histograms = new EnumMap<>(Phase.class);
+    private volatile long since = System.currentTimeMillis();
+
+    private Metrics() {
+        for (Phase phase : Phase.values()) {
+            histograms.put(phase, new LatencyHistogram());
+        }
+    }
+
+    public static synchronized Metrics getInstance() {
+        if (instance == null) {
+            instance = new Metrics();
+        }
+        return instance;
+    }
+
+    public LatencyHistogram get(Phase phase) {
+        return histograms.get(phase);
+    }
+
+    public void record(Phase phase, long millis) {
+        histograms.get(phase).record(millis);
+    }
+
+    /**
+     * 記錄從 startNanos (System.nanoTime()) 到現在的耗時
+     */
+    public void recordSince(Phase phase, long startNanos) {
+        record(phase, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+
+    /**
+     * 清空所有直方圖 (直方圖本身不可清零，直接替換)
+     */
+    public synchronized void reset() {
+        for (Phase phase : Phase.values()) {
+            histograms.put(phase, new LatencyHistogram());
+        }
+        since = System.currentTimeMillis();
+    }
+
+    /**
+     * 各階段摘要，每行一個階段
+     */
+    public String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.US, "%-14s %7s %7s %7s %7s %7s %7s%n",
+                "phase", "count", "mean", "p50", "p95", "p99", "max"));
+        for (Phase phase : Phase.values()) {
+            LatencyHistogram histogram = histograms.get(phase);
+            sb.append(String.format(Locale.US, "%-14s %7d %7d %7d %7d %7d %7d%n",
+                    phase.name().toLowerCase(Locale.US),
+                    histogram.getCount(),
+                    histogram.getMean(),
+                    histogram.percentile(0.50),
+                    histogram.percentile(0.95),
+                    histogram.percentile(0.99),
+                    histogram.getMax()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 導出摘要和原始桶數據 (phase,upper_bound_ms,count)，供離線分析
+     */
+    public void dumpTo(File file) throws IOException {
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), Charset.forName("UTF-8"))) {
+            writer.write("# since " + since + ", dumped " + System.currentTimeMillis() + "\n");
+            for (String line : report().split("\n")) {
+                writer.write("# " + line + "\n");
+            }
+            writer.write("phase,upper_bound_ms,count\n");
+            for (Phase phase : Phase.values()) {
+                LatencyHistogram histogram = histograms.get(phase);
+                for (int i = 0; i < LatencyHistogram.getBucketCount(); i++) {
+                    long count = histogram.getCountInBucket(i);
+                    if (count > 0) {
+                        writer.write(phase.name().toLowerCase(Locale.US) + ","
+                                + LatencyHistogram.getBucketUpperBound(i) + "," + count + "\n");
+                    }
+                }
+            }
+        }
+    }
+}
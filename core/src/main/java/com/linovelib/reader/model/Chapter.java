@@ -32,4 +32,14 @@ public class Chapter implements Serializable {
     public void setChapterUrl(String chapterUrl) { this.chapterUrl = chapterUrl; }
     public void setVolumeId(String volumeId) { this.volumeId = volumeId; }
     public void setRead(boolean read) { isRead = read; }
+
+    /**
+     * 複製一份，修改副本不影響原物件
+     */
+    public Chapter copy() {
+        Chapter copy = new Chapter(chapterId, chapterTitle, chapterUrl);
+        copy.volumeId = volumeId;
+        copy.isRead = isRead;
+        return copy;
+    }
 }
@@ -0,0 +1,292 @@
+package com.linovelib.reader.model;
+
+import java.io.Serializable;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * 章節內容
+ * 各項的文本 (段落或圖片 URL) 依次存放在同一個 char[] 中，另以偏移表和類型表區分各項；
+ * getItems() 返回的 ChapterItem 在讀取時才建立，不常駐記憶體
+ */
+public class ChapterContent implements Serializable {
+    private static final char[] NO_TEXT = {};
+    private static final int INITIAL_ITEMS = 16;
+
+    private String chapterId;
+    private String title;
+    private String content;
+    private String prevChapterUrl;
+    private String nextChapterUrl;
+
+    private char[] text = NO_TEXT;
+    private int textLength;
+    // 第 i 項的文本為 text[offsets[i], offsets[i + 1])
+    private int[] offsets = new int[INITIAL_ITEMS + 1];
+    private byte[] types = new byte[INITIAL_ITEMS];
+    // 圖片寬高，每項兩個；沒有任何項帶尺寸時為 null
+    private int[] dimensions;
+    private int itemCount;
+
+    public ChapterContent() {
+    }
+
+    public ChapterContent(String chapterId, String title, String content) {
+        this.chapterId = chapterId;
+        this.title = title;
+        this.content = content;
+    }
+
+    // Getters
+    public String getChapterId() { return chapterId; }
+    public String getTitle() { return title; }
+    public String getPrevChapterUrl() { return prevChapterUrl; }
+    public String getNextChapterUrl() { return nextChapterUrl; }
+
+    /**
+     * 全部項的唯讀視圖，每次 get 建立一個新的 ChapterItem
+     */
+    public List<ChapterItem> getItems() {
+        return new ItemList();
+    }
+
+    public int getItemCount() { return itemCount; }
+
+    public int getItemType(int index) {
+        checkIndex(index);
+        return types[index];
+    }
+
+    /**
+     * 第 index 項的文本 (段落或圖片 URL)
+     */
+    public String getItemText(int index) {
+        checkIndex(index);
+        return new String(text, offsets[index], offsets[index + 1] - offsets[index]);
+    }
+
+    /**
+     * 第 index 項的寬高，未知時為 0
+     */
+    public int getItemWidth(int index) {
+        checkIndex(index);
+        return dimensions != null ? dimensions[index * 2] : 0;
+    }
+
+    public int getItemHeight(int index) {
+        checkIndex(index);
+        return dimensions != null ? dimensions[index * 2 + 1] : 0;
+    }
+
+    public ChapterItem getItem(int index) {
+        ChapterItem item = new ChapterItem(getItemType(index), getItemText(index));
+        if (dimensions != null) {
+            item.setDimensions(dimensions[index * 2], dimensions[index * 2 + 1]);
+        }
+        return item;
+    }
+
+    /**
+     * 章節純文本：未設定時由文本項按段落 (以空行分隔) 生成
+     */
+    public String getContent() {
+        if (content != null) {
+            return content;
+        }
+        StringBuilder sb = new StringBuilder(textLength + itemCount * 2);
+        for (int i = 0; i < itemCount; i++) {
+            if (types[i] == ChapterItem.TYPE_TEXT) {
+                if (sb.length() > 0) {
+                    sb.append("\n\n");
+                }
+                sb.append(text, offsets[i], offsets[i + 1] - offsets[i]);
+            }
+        }
+        return sb.toString();
+    }
+
+    // Setters
+    public void setChapterId(String chapterId) { this.chapterId = chapterId; }
+    public void setTitle(String title) { this.title = title; }
+    public void setContent(String content) { this.content = content; }
+    public void setPrevChapterUrl(String prevChapterUrl) { this.prevChapterUrl = prevChapterUrl; }
+    public void setNextChapterUrl(String nextChapterUrl) { this.nextChapterUrl = nextChapterUrl; }
+
+    public void setItems(List<ChapterItem> items) {
+        itemCount = 0;
+        textLength = 0;
+        dimensions = null;
+        for (ChapterItem item : items) {
+            addItem(item);
+        }
+    }
+
+    public void addItem(ChapterItem item) {
+        String value = item.getContent();
+        add(item.getType(), value, 0, value.length());
+        if (item.getWidth() > 0 || item.getHeight() > 0) {
+            setItemDimensions(itemCount - 1, item.getWidth(), item.getHeight());
+        }
+    }
+
+    /**
+     * 追加文本項，只複製 text 的 [start, end) 部分
+     */
+    public void addText(CharSequence text, int start, int end) {
+        add(ChapterItem.TYPE_TEXT, text, start, end);
+    }
+
+    /**
+     * 追加圖片項，尺寸未知時寬高傳 0
+     */
+    public void addImage(String url, int width, int height) {
+        add(ChapterItem.TYPE_IMAGE, url, 0, url.length());
+        if (width > 0 || height > 0) {
+            setItemDimensions(itemCount - 1, width, height);
+        }
+    }
+
+    /**
+     * 按順序追加各部分 (如各分頁) 的全部項，數組按總量一次分配
+     */
+    public void addAll(List<ChapterContent> parts) {
+        int count = itemCount;
+        int length = textLength;
+        for (ChapterContent part : parts) {
+            count += part.itemCount;
+            length += part.textLength;
+        }
+        ensureItemCapacity(count, true);
+        ensureTextCapacity(length, true);
+        for (ChapterContent part : parts) {
+            addAll(part);
+        }
+    }
+
+    /**
+     * 按順序追加另一章節內容的全部項
+     */
+    public void addAll(ChapterContent other) {
+        int count = other.itemCount;
+        ensureItemCapacity(itemCount + count, false);
+        ensureTextCapacity(textLength + other.textLength, false);
+        System.arraycopy(other.text, 0, text, textLength, other.textLength);
+        System.arraycopy(other.types, 0, types, itemCount, count);
+        for (int i = 1; i <= count; i++) {
+            offsets[itemCount + i] = textLength + other.offsets[i];
+        }
+        if (other.dimensions != null) {
+            ensureDimensions();
+            System.arraycopy(other.dimensions, 0, dimensions, itemCount * 2, count * 2);
+        }
+        itemCount += count;
+        textLength += other.textLength;
+    }
+
+    public void setItemDimensions(int index, int width, int height) {
+        checkIndex(index);
+        ensureDimensions();
+        dimensions[index * 2] = width;
+        dimensions[index * 2 + 1] = height;
+    }
+
+    /**
+     * 內容不再追加後調用，釋放各數組多預留的空間
+     */
+    public void trimToSize() {
+        if (text.length != textLength) {
+            text = Arrays.copyOf(text, textLength);
+        }
+        if (types.length != itemCount) {
+            types = Arrays.copyOf(types, itemCount);
+            offsets = Arrays.copyOf(offsets, itemCount + 1);
+        }
+        if (dimensions != null && dimensions.length != itemCount * 2) {
+            dimensions = Arrays.copyOf(dimensions, itemCount * 2);
+        }
+    }
+
+    // 以下供 ModelCodec 直接讀寫內部數組，避免逐項建立字串
+    char[] text() { return text; }
+    int textLength() { return textLength; }
+    int[] offsets() { return offsets; }
+    byte[] types() { return types; }
+    int[] dimensions() { return dimensions; }
+
+    void restore(char[] text, int[] offsets, byte[] types, int[] dimensions, int itemCount) {
+        this.text = text;
+        this.textLength = offsets[itemCount];
+        this.offsets = offsets;
+        this.types = types;
+        this.dimensions = dimensions;
+        this.itemCount = itemCount;
+    }
+
+    private void add(int type, CharSequence value, int start, int end) {
+        int length = end - start;
+        ensureItemCapacity(itemCount + 1, false);
+        ensureTextCapacity(textLength + length, false);
+        if (value instanceof String) {
+            ((String) value).getChars(start, end, text, textLength);
+        } else if (value instanceof StringBuilder) {
+            ((StringBuilder) value).getChars(start, end, text, textLength);
+        } else {
+            for (int i = 0; i < length; i++) {
+                text[textLength + i] = value.charAt(start + i);
+            }
+        }
+        textLength += length;
+        types[itemCount] = (byte) type;
+        itemCount++;
+        offsets[itemCount] = textLength;
+    }
+
+    /**
+     * @param exact 是否正好分配所需大小 (之後不再追加時)，否則按倍數擴充
+     */
+    private void ensureItemCapacity(int count, boolean exact) {
+        if (count > types.length || exact && count != types.length) {
+            int capacity = exact ? count : Math.max(count, types.length * 2);
+            types = Arrays.copyOf(types, capacity);
+            offsets = Arrays.copyOf(offsets, capacity + 1);
+            if (dimensions != null) {
+                dimensions = Arrays.copyOf(dimensions, capacity * 2);
+            }
+        }
+    }
+
+    private void ensureTextCapacity(int length, boolean exact) {
+        if (length > text.length) {
+            text = Arrays.copyOf(text, exact ? length : Math.max(length, text.length * 2));
+        }
+    }
+
+    private void ensureDimensions() {
+        if (dimensions == null) {
+            dimensions = new int[types.length * 2];
+        } else if (dimensions.length < types.length * 2) {
+            dimensions = Arrays.copyOf(dimensions, types.length * 2);
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= itemCount) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + itemCount);
+        }
+    }
+
+    private class ItemList extends AbstractList<ChapterItem> implements RandomAccess {
+        @Override
+        public ChapterItem get(int index) {
+            return getItem(index);
+        }
+
+        @Override
+        public int size() {
+            return itemCount;
+        }
+    }
+}
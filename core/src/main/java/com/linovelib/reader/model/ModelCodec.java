@@ -0,0 +1,391 @@
+package com.linovelib.reader.model;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 解析結果的二進位編碼，用於持久化、快取和 Intent 傳遞，代替 Java 序列化
+ *
+ * 格式：魔數 "LN" + 類型 (1 位元組) + 格式版本 (1 位元組)，之後為各欄位；
+ * 整數為變長編碼，字串和數據塊都以長度開頭 (字串長度 + 1，0 表示 null)；
+ * 字串為 UTF-8，章節正文以 UTF-16 整塊存放 (中文在 UTF-8 下佔三位元組，且可整塊複製)。
+ * 增加欄位時只追加在末尾並提高 FORMAT_VERSION，解碼時按版本決定是否讀取，舊數據仍可解碼；
+ * 遇到比當前更新的版本或損壞的數據時拋出 IOException
+ */
+public final class ModelCodec {
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final byte MAGIC_0 = 'L';
+    private static final byte MAGIC_1 = 'N';
+    private static final byte KIND_CHAPTER = 'C';
+    private static final byte KIND_VOLUMES = 'V';
+    private static final byte KIND_NOVEL = 'N';
+
+    /** 當前的格式版本，各類型共用 */
+    public static final int FORMAT_VERSION = 1;
+
+    private ModelCodec() {
+    }
+
+    public static byte[] encodeChapter(ChapterContent chapter) {
+        int count = chapter.getItemCount();
+        char[] text = chapter.text();
+        int textLength = chapter.textLength();
+        Writer out = new Writer(256 + count * 4 + textLength * 2);
+        out.header(KIND_CHAPTER);
+        out.string(chapter.getChapterId());
+        out.string(chapter.getTitle());
+        // 只有顯式設定的全文 (如錯誤提示) 需要保存，其餘由各項生成
+        out.string(count == 0 ? chapter.getContent() : null);
+        out.string(chapter.getPrevChapterUrl());
+        out.string(chapter.getNextChapterUrl());
+
+        int[] offsets = chapter.offsets();
+        byte[] types = chapter.types();
+        out.varInt(count);
+        out.bytes(types, count);
+        for (int i = 0; i < count; i++) {
+            out.varInt(offsets[i + 1] - offsets[i]);
+        }
+        out.chars(text, textLength);
+
+        int[] dimensions = chapter.dimensions();
+        out.varInt(dimensions != null ? 1 : 0);
+        if (dimensions != null) {
+            for (int i = 0; i < count * 2; i++) {
+                out.varInt(dimensions[i]);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public static ChapterContent decodeChapter(byte[] data) throws IOException {
+        Reader in = new Reader(data);
+        in.header(KIND_CHAPTER);
+        ChapterContent chapter = new ChapterContent();
+        chapter.setChapterId(in.string());
+        chapter.setTitle(in.string());
+        chapter.setContent(in.string());
+        chapter.setPrevChapterUrl(in.string());
+        chapter.setNextChapterUrl(in.string());
+
+        int count = in.length();
+        byte[] types = in.bytes(count);
+        int[] offsets = new int[count + 1];
+        for (int i = 0; i < count; i++) {
+            offsets[i + 1] = offsets[i] + in.length();
+            if (offsets[i + 1] < offsets[i]) {
+                throw new IOException("Invalid item length at item " + i);
+            }
+        }
+        char[] text = in.chars(offsets[count]);
+
+        int[] dimensions = null;
+        if (in.varInt() != 0) {
+            dimensions = new int[count * 2];
+            for (int i = 0; i < dimensions.length; i++) {
+                dimensions[i] = in.varInt();
+            }
+        }
+        chapter.restore(text, offsets, types, dimensions, count);
+        return chapter;
+    }
+
+    public static byte[] encodeVolumes(List<Volume> volumes) {
+        int chapterCount = 0;
+        for (Volume volume : volumes) {
+            chapterCount += volume.getChapters().size();
+        }
+        // 每章約為 ID、標題和 URL 各一
+        Writer out = new Writer(256 + chapterCount * 96);
+        out.header(KIND_VOLUMES);
+        out.varInt(volumes.size());
+        for (Volume volume : volumes) {
+            out.string(volume.getVolumeId());
+            out.string(volume.getVolumeName());
+            out.string(volume.getVolumeUrl());
+            List<Chapter> chapters = volume.getChapters();
+            out.varInt(chapters.size());
+            for (Chapter chapter : chapters) {
+                out.string(chapter.getChapterId());
+                out.string(chapter.getChapterTitle());
+                out.string(chapter.getChapterUrl());
+                out.string(chapter.getVolumeId());
+                out.varInt(chapter.isRead() ? 1 : 0);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public static List<Volume> decodeVolumes(byte[] data) throws IOException {
+        Reader in = new Reader(data);
+        in.header(KIND_VOLUMES);
+        int volumeCount = in.length();
+        List<Volume> volumes = new ArrayList<>(volumeCount);
+        for (int v = 0; v < volumeCount; v++) {
+            Volume volume = new Volume(in.string(), in.string());
+            volume.setVolumeUrl(in.string());
+            int chapterCount = in.length();
+            List<Chapter> chapters = new ArrayList<>(chapterCount);
+            for (int c = 0; c < chapterCount; c++) {
+                Chapter chapter = new Chapter(in.string(), in.string(), in.string());
+                chapter.setVolumeId(in.string());
+                chapter.setRead(in.varInt() != 0);
+                chapters.add(chapter);
+            }
+            volume.setChapters(chapters);
+            volumes.add(volume);
+        }
+        return volumes;
+    }
+
+    public static byte[] encodeNovel(Novel novel) {
+        Writer out = new Writer(256);
+        out.header(KIND_NOVEL);
+        out.string(novel.getNovelId());
+        out.string(novel.getTitle());
+        out.string(novel.getAuthor());
+        out.string(novel.getIllustrator());
+        out.string(novel.getTranslator());
+        out.string(novel.getCoverUrl());
+        out.string(novel.getDescription());
+        List<String> tags = novel.getTags();
+        // 標籤數 + 1，0 表示 null
+        out.varInt(tags == null ? 0 : tags.size() + 1);
+        if (tags != null) {
+            for (String tag : tags) {
+                out.string(tag);
+            }
+        }
+        out.int32(Float.floatToIntBits(novel.getRating()));
+        out.string(novel.getStatus());
+        out.varInt(novel.getFavoriteCount());
+        return out.toByteArray();
+    }
+
+    public static Novel decodeNovel(byte[] data) throws IOException {
+        Reader in = new Reader(data);
+        in.header(KIND_NOVEL);
+        Novel novel = new Novel(in.string(), in.string());
+        novel.setAuthor(in.string());
+        novel.setIllustrator(in.string());
+        novel.setTranslator(in.string());
+        novel.setCoverUrl(in.string());
+        novel.setDescription(in.string());
+        int tagCount = in.length();
+        if (tagCount > 0) {
+            List<String> tags = new ArrayList<>(tagCount - 1);
+            for (int i = 1; i < tagCount; i++) {
+                tags.add(in.string());
+            }
+            novel.setTags(tags);
+        }
+        novel.setRating(Float.intBitsToFloat(in.int32()));
+        novel.setStatus(in.string());
+        novel.setFavoriteCount(in.varInt());
+        return novel;
+    }
+
+    private static final class Writer {
+        private byte[] buffer;
+        private int size;
+
+        Writer(int capacity) {
+            buffer = new byte[capacity];
+        }
+
+        void header(byte kind) {
+            ensure(4);
+            buffer[size++] = MAGIC_0;
+            buffer[size++] = MAGIC_1;
+            buffer[size++] = kind;
+            buffer[size++] = (byte) FORMAT_VERSION;
+        }
+
+        /**
+         * 無符號變長整數，每位元組 7 位，低位在前
+         */
+        void varInt(int value) {
+            ensure(5);
+            while ((value & ~0x7f) != 0) {
+                buffer[size++] = (byte) ((value & 0x7f) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        void int32(int value) {
+            ensure(4);
+            buffer[size++] = (byte) (value >>> 24);
+            buffer[size++] = (byte) (value >>> 16);
+            buffer[size++] = (byte) (value >>> 8);
+            buffer[size++] = (byte) value;
+        }
+
+        void bytes(byte[] bytes, int length) {
+            ensure(length);
+            System.arraycopy(bytes, 0, buffer, size, length);
+            size += length;
+        }
+
+        /**
+         * 長度 + 1 和 UTF-8 內容，直接編碼到緩衝區，不經過 getBytes
+         */
+        void string(String value) {
+            if (value == null) {
+                varInt(0);
+                return;
+            }
+            int length = value.length();
+            int byteLength = 0;
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    byteLength++;
+                } else if (c < 0x800) {
+                    byteLength += 2;
+                } else if (Character.isHighSurrogate(c) && i + 1 < length
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    byteLength += 4;
+                    i++;
+                } else {
+                    byteLength += 3;
+                }
+            }
+            varInt(byteLength + 1);
+            ensure(byteLength);
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    buffer[size++] = (byte) c;
+                } else if (c < 0x800) {
+                    buffer[size++] = (byte) (0xc0 | c >> 6);
+                    buffer[size++] = (byte) (0x80 | c & 0x3f);
+                } else if (Character.isHighSurrogate(c) && i + 1 < length
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    buffer[size++] = (byte) (0xf0 | codePoint >> 18);
+                    buffer[size++] = (byte) (0x80 | codePoint >> 12 & 0x3f);
+                    buffer[size++] = (byte) (0x80 | codePoint >> 6 & 0x3f);
+                    buffer[size++] = (byte) (0x80 | codePoint & 0x3f);
+                } else {
+                    buffer[size++] = (byte) (0xe0 | c >> 12);
+                    buffer[size++] = (byte) (0x80 | c >> 6 & 0x3f);
+                    buffer[size++] = (byte) (0x80 | c & 0x3f);
+                }
+            }
+        }
+
+        /**
+         * UTF-16 (大端) 字元塊，字元數由調用方另行記錄
+         */
+        void chars(char[] chars, int length) {
+            ensure(length * 2);
+            ByteBuffer.wrap(buffer, size, length * 2).asCharBuffer().put(chars, 0, length);
+            size += length * 2;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(size + extra, buffer.length * 2));
+            }
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] data;
+        private int position;
+        // 數據的格式版本，之後版本追加的欄位按此決定是否讀取
+        private int version;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        void header(byte kind) throws IOException {
+            require(4);
+            if (data[0] != MAGIC_0 || data[1] != MAGIC_1 || data[2] != kind) {
+                throw new IOException("Not an encoded " + (char) kind + " record");
+            }
+            version = data[3] & 0xff;
+            if (version < 1 || version > FORMAT_VERSION) {
+                throw new IOException("Unsupported format version " + version);
+            }
+            position = 4;
+        }
+
+        int varInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                require(1);
+                int b = data[position++];
+                value |= (b & 0x7f) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed varint at " + position);
+        }
+
+        /**
+         * 作為數量或長度的變長整數，不能為負或超過剩餘數據
+         */
+        int length() throws IOException {
+            int value = varInt();
+            if (value < 0 || value > data.length) {
+                throw new IOException("Invalid length " + value + " at " + position);
+            }
+            return value;
+        }
+
+        int int32() throws IOException {
+            require(4);
+            int value = (data[position] & 0xff) << 24 | (data[position + 1] & 0xff) << 16
+                    | (data[position + 2] & 0xff) << 8 | (data[position + 3] & 0xff);
+            position += 4;
+            return value;
+        }
+
+        byte[] bytes(int length) throws IOException {
+            require(length);
+            byte[] bytes = Arrays.copyOfRange(data, position, position + length);
+            position += length;
+            return bytes;
+        }
+
+        String string() throws IOException {
+            int length = length();
+            if (length == 0) {
+                return null;
+            }
+            require(length - 1);
+            String value = new String(data, position, length - 1, UTF_8);
+            position += length - 1;
+            return value;
+        }
+
+        char[] chars(int count) throws IOException {
+            if (count < 0 || count > (data.length - position) / 2) {
+                throw new EOFException("Expected " + count + " chars at " + position);
+            }
+            char[] chars = new char[count];
+            ByteBuffer.wrap(data, position, count * 2).asCharBuffer().get(chars);
+            position += count * 2;
+            return chars;
+        }
+
+        private void require(int length) throws EOFException {
+            if (length > data.length - position) {
+                throw new EOFException("Expected " + length + " more bytes at " + position);
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.linovelib.reader.model;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
 
 public class Novel implements Serializable {
@@ -49,4 +50,21 @@ public class Novel implements Serializable {
     public void setRating(float rating) { this.rating = rating; }
     public void setStatus(String status) { this.status = status; }
     public void setFavoriteCount(int favoriteCount) { this.favoriteCount = favoriteCount; }
+
+    /**
+     * 複製一份，修改副本不影響原物件
+     */
+    public Novel copy() {
+        Novel copy = new Novel(novelId, title);
+        copy.author = author;
+        copy.illustrator = illustrator;
+        copy.translator = translator;
+        copy.coverUrl = coverUrl;
+        copy.description = description;
+        copy.tags = tags != null ? new ArrayList<>(tags) : null;
+        copy.rating = rating;
+        copy.status = status;
+        copy.favoriteCount = favoriteCount;
+        return copy;
+    }
 }
@@ -36,4 +36,21 @@ public class Volume implements Serializable {
     public void addChapter(Chapter chapter) {
         this.chapters.add(chapter);
     }
+
+    /**
+     * 連同章節一起複製，修改副本不影響原物件
+     */
+    public Volume copy() {
+        Volume copy = new Volume(volumeId, volumeName);
+        copy.volumeUrl = volumeUrl;
+        if (chapters == null) {
+            copy.chapters = null;
+        } else {
+            copy.chapters = new ArrayList<>(chapters.size());
+            for (Chapter chapter : chapters) {
+                copy.chapters.add(chapter.copy());
+            }
+        }
+        return copy;
+    }
 }
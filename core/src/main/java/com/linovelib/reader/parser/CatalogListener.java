@@ -0,0 +1,11 @@
+package com.linovelib.reader.parser;
+
+import com.linovelib.reader.model.Volume;
+
+/**
+ * 目錄解析過程中逐卷接收結果
+ * 在解析線程上調用；收到的卷已完整，之後不會再被修改
+ */
+public interface CatalogListener {
+    void onVolume(Volume volume);
+}
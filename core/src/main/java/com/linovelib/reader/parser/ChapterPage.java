@@ -0,0 +1,24 @@
+package com.linovelib.reader.parser;
+
+import org.jsoup.nodes.Document;
+
+/**
+ * 章節的一個分頁：在章節中的順序、實際請求的 URL 和已讀取的 DOM
+ * 各分頁互不依賴，可分別在不同線程上解析
+ */
+public final class ChapterPage {
+    private final int index;
+    private final String url;
+    private final Document document;
+
+    public ChapterPage(int index, String url, Document document) {
+        this.index = index;
+        this.url = url;
+        this.document = document;
+    }
+
+    /** 從 0 開始的頁序 */
+    public int getIndex() { return index; }
+    public String getUrl() { return url; }
+    public Document getDocument() { return document; }
+}
@@ -0,0 +1,239 @@
+package com.linovelib.reader.parser;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.NodeFilter;
+import org.jsoup.select.NodeTraversor;
+import org.jsoup.select.QueryParser;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 在一次 DOM 遍歷中定位章節頁的內容區、標題和上下章連結
+ * 選擇器只在類載入時編譯一次。結果與按優先順序逐個 selectFirst 相同：
+ * 只有命中首選候選後才可能提前結束遍歷，其他候選之後仍可能出現更優先的內容區 (例如嵌在 div.content 內的 #acontent)。
+ * 例外是按主機學到的版面：某主機連續多頁都只有同一個次選候選 (更優先的候選從未出現) 時，
+ * 之後命中該候選即視為確定，可跳過正文並提前結束；每隔若干頁仍完整遍歷一次，版面改變時重新學習
+ */
+public final class ContentLocator {
+    /** 內容區候選，按優先順序；多個命中時取順序最前者 */
+    private static final Evaluator[] CONTENT = {
+            QueryParser.parse("#acontent"),
+            QueryParser.parse("div.acontent"),
+            QueryParser.parse("#TextContent"),
+            QueryParser.parse("div.content"),
+            QueryParser.parse("div.chapter-content"),
+            QueryParser.parse("div#content"),
+    };
+    static final Evaluator TITLE = QueryParser.parse("h1, h2.chapter-title, div.chapter-title");
+    static final Evaluator PREV_LINK = QueryParser.parse("a:contains(上一章), a.prev, a#pt_prev");
+    static final Evaluator NEXT_LINK = QueryParser.parse("a:contains(下一章), a.next, a#pt_next");
+    static final Evaluator CHALLENGE = QueryParser.parse("#cf-wrapper, .cf-wrapper");
+    /** 內容區中不屬於正文的元素 */
+    static final Evaluator NON_CONTENT = QueryParser.parse("script, style, div.ads, div.google-auto-placed");
+
+    private static final int MAX_HOSTS = 64;
+    /** 連續多少頁完整遍歷得到同一候選後才採用 */
+    static final int SETTLE_PAGES = 8;
+    /** 採用後每隔多少頁完整遍歷一次確認 */
+    static final int VERIFY_EVERY = 32;
+
+    private final Map<String, HostLayout> layouts = new ConcurrentHashMap<>();
+
+    /**
+     * @param header 是否需要標題、上一章連結和 Cloudflare 標記 (章節第一頁)
+     * @param next   是否需要下一章連結 (章節最後一頁)
+     */
+    public Result locate(Document doc, boolean header, boolean next) {
+        HostLayout layout = layoutFor(hostOf(doc.location()));
+        int settled = layout.nextWalk();
+        Walk walk = new Walk(doc, header, next, settled);
+        NodeTraversor.filter(walk, doc);
+
+        Result result = walk.result;
+        if (result.content != null) {
+            layout.record(walk.best, settled);
+        }
+        return result;
+    }
+
+    private HostLayout layoutFor(String host) {
+        HostLayout layout = layouts.get(host);
+        if (layout == null) {
+            if (layouts.size() >= MAX_HOSTS) {
+                layouts.clear();
+            }
+            HostLayout created = new HostLayout();
+            layout = layouts.putIfAbsent(host, created);
+            if (layout == null) {
+                layout = created;
+            }
+        }
+        return layout;
+    }
+
+    private static String hostOf(String url) {
+        int start = url.indexOf("://");
+        if (start < 0) {
+            return "";
+        }
+        start += 3;
+        int end = url.indexOf('/', start);
+        return end < 0 ? url.substring(start) : url.substring(start, end);
+    }
+
+    private static final class Walk implements NodeFilter {
+        private final Document doc;
+        private final boolean header;
+        private final boolean next;
+        // 命中此候選 (或更優先者) 即視為確定，完整遍歷時為 0
+        private final int settled;
+        final Result result = new Result();
+        int best = CONTENT.length;
+
+        Walk(Document doc, boolean header, boolean next, int settled) {
+            this.doc = doc;
+            this.header = header;
+            this.next = next;
+            this.settled = settled;
+        }
+
+        @Override
+        public FilterResult head(Node node, int depth) {
+            if (!(node instanceof Element)) {
+                return FilterResult.CONTINUE;
+            }
+            Element element = (Element) node;
+
+            if (header) {
+                if (CHALLENGE.matches(doc, element)) {
+                    result.challenge = true;
+                    return FilterResult.STOP;
+                }
+                if (result.title == null && TITLE.matches(doc, element)) {
+                    result.title = element;
+                }
+                if (result.prevLink == null && PREV_LINK.matches(doc, element)) {
+                    result.prevLink = element;
+                }
+            }
+            if (next && result.nextLink == null && NEXT_LINK.matches(doc, element)) {
+                result.nextLink = element;
+            }
+
+            boolean foundContent = false;
+            if (!contentDone()) {
+                int match = matchContent(element);
+                if (match < best) {
+                    foundContent = true;
+                    best = match;
+                    result.content = element;
+                }
+            }
+
+            if (contentDone()
+                    && (!header || result.title != null && result.prevLink != null)
+                    && (!next || result.nextLink != null)) {
+                return FilterResult.STOP;
+            }
+            // 導航連結不會出現在正文內，已確定內容區且不再需要標題時跳過整個正文
+            if (foundContent && contentDone() && (!header || result.title != null)) {
+                return FilterResult.SKIP_ENTIRELY;
+            }
+            return FilterResult.CONTINUE;
+        }
+
+        @Override
+        public FilterResult tail(Node node, int depth) {
+            return FilterResult.CONTINUE;
+        }
+
+        /**
+         * 元素符合的最優先內容區候選 (只比較比當前結果更優先的)，都不符合時返回 CONTENT.length
+         */
+        private int matchContent(Element element) {
+            for (int i = 0; i < best; i++) {
+                if (CONTENT[i].matches(doc, element)) {
+                    return i;
+                }
+            }
+            return CONTENT.length;
+        }
+
+        /**
+         * 已命中首選候選 (或該主機學到的候選)，不再尋找更好的結果
+         */
+        private boolean contentDone() {
+            return best <= settled;
+        }
+    }
+
+    /**
+     * 單一主機學到的版面
+     */
+    private static final class HostLayout {
+        // 最近完整遍歷命中的候選及連續次數
+        private int lastBest = -1;
+        private int streak;
+        // 已採用的候選，0 表示未採用
+        private int settled;
+        private int sinceVerify;
+
+        /**
+         * 本次遍歷視為確定的候選；未採用或到了確認的時候返回 0 (完整遍歷)
+         */
+        synchronized int nextWalk() {
+            if (settled == 0) {
+                return 0;
+            }
+            if (++sinceVerify >= VERIFY_EVERY) {
+                sinceVerify = 0;
+                return 0;
+            }
+            return settled;
+        }
+
+        synchronized void record(int best, int walkSettled) {
+            if (walkSettled != 0) {
+                // 提前結束的遍歷看不到更優先的候選，不能用來學習；但仍碰到了更優先的候選說明版面已改變
+                if (best < walkSettled && walkSettled == settled) {
+                    settled = 0;
+                    streak = 0;
+                    lastBest = -1;
+                }
+                return;
+            }
+            streak = best == lastBest ? streak + 1 : 1;
+            lastBest = best;
+            if (best != settled) {
+                // 確認時發現版面已改變，重新累計
+                settled = 0;
+                sinceVerify = 0;
+            }
+            if (settled == 0 && best > 0 && streak >= SETTLE_PAGES) {
+                settled = best;
+            }
+        }
+    }
+
+    /**
+     * 定位結果，未找到的元素為 null
+     */
+    public static final class Result {
+        Element content;
+        Element title;
+        Element prevLink;
+        Element nextLink;
+        boolean challenge;
+
+        public Element getContent() { return content; }
+        public Element getTitle() { return title; }
+        public Element getPrevLink() { return prevLink; }
+        public Element getNextLink() { return nextLink; }
+        /** 頁面含 Cloudflare 驗證標記 */
+        public boolean isChallenge() { return challenge; }
+    }
+}
@@ -0,0 +1,808 @@
+package com.linovelib.reader.parser;
+
+import com.linovelib.reader.log.Log;
+import com.linovelib.reader.metrics.Metrics;
+import com.linovelib.reader.metrics.Metrics.Phase;
+import com.linovelib.reader.model.Chapter;
+import com.linovelib.reader.model.ChapterContent;
+import com.linovelib.reader.model.Novel;
+import com.linovelib.reader.model.Volume;
+import com.linovelib.reader.util.LinovelibUrls;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+import org.jsoup.parser.Parser;
+import org.jsoup.parser.StreamParser;
+import org.jsoup.select.Elements;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.NodeFilter;
+import org.jsoup.select.NodeTraversor;
+import org.jsoup.select.QueryParser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+public class LinovelibParser {
+    private static final String TAG = "LinovelibParser";
+    private static final String BASE_URL = "https://tw.linovelib.com";
+
+    // 串流解析章節頁時用來判斷何時可以停止讀取
+    private static final Evaluator PRIMARY_CONTENT = QueryParser.parse("#acontent, div.acontent");
+
+    private static final ContentLocator LOCATOR = new ContentLocator();
+
+    // 目錄頁：章節連結、其中的標題，以及各種版式的卷標題
+    private static final Evaluator CHAPTER_LINK = QueryParser.parse("a.chapter-li-a");
+    private static final Evaluator CHAPTER_TITLE = QueryParser.parse("span");
+    private static final Evaluator VOLUME_HEADER = QueryParser.parse(
+            "li.chapter-bar, h3.volume-title, div.volume-name, h2:containsOwn(卷)");
+
+    /**
+     * 解析首頁推薦小說列表
+     * 實際結構：a.module-slide-a 包含 img, figcaption (標題), p>span (作者)
+     */
+    public static List<Novel> parseNovelList(String html) {
+        return parseNovelList(Jsoup.parse(html));
+    }
+
+    public static List<Novel> parseNovelList(Document doc) {
+        long start = System.nanoTime();
+        try {
+            return extractNovelList(doc);
+        } finally {
+            Metrics.getInstance().recordSince(Phase.PARSE_HOME, start);
+        }
+    }
+
+    private static List<Novel> extractNovelList(Document doc) {
+        List<Novel> novels = new ArrayList<>();
+        
+        try {
+            // 實際的選擇器：a.module-slide-a
+            Elements novelElements = doc.select("a.module-slide-a");
+            
+            for (Element element : novelElements) {
+                try {
+                    Novel novel = new Novel();
+                    
+                    // 提取小說ID和標題從 href
+                    String href = element.attr("href");
+                    if (href.contains("/novel/")) {
+                        // 從 URL 中提取 novel ID: /novel/4649.html -> 4649
+                        String novelId = LinovelibUrls.novelId(href);
+                        novel.setNovelId(novelId != null ? novelId : href);
+                    }
+                    
+                    // 提取標題 - 在 figcaption 標籤中
+                    Element titleElement = element.selectFirst("figcaption");
+                    if (titleElement != null) {
+                        novel.setTitle(titleElement.text());
+                    }
+                    
+                    // 提取封面 - img 標籤
+                    Element cover = element.selectFirst("img");
+                    if (cover != null) {
+                        String coverUrl = cover.attr("data-src");
+                        if (coverUrl.isEmpty()) {
+                            coverUrl = cover.attr("src");
+                        }
+                        
+                        // 如果是相對路徑，補充完整 URL
+                        coverUrl = resolveUrl(cover, coverUrl);
+                        // 過濾 SVG 圖片，因為 Glide 默認不支持
+                        if (coverUrl != null && !coverUrl.toLowerCase().endsWith(".svg")) {
+                            novel.setCoverUrl(coverUrl);
+                        }
+                    }
+                    
+                    // 提取作者 - p > span
+                    // 結構: <p class="module-slide-author"><span class="clip">作者：</span><span class="gray">作者名</span></p>
+                    Element authorSpan = element.selectFirst("p span.gray");
+                    if (authorSpan != null) {
+                        novel.setAuthor(authorSpan.text());
+                    } else {
+                        // Fallback logic
+                        authorSpan = element.selectFirst("p span");
+                        if (authorSpan != null) {
+                            String text = authorSpan.text();
+                            if (text.startsWith("作者：")) {
+                                text = text.replace("作者：", "");
+                            }
+                            if (!text.isEmpty()) {
+                                novel.setAuthor(text);
+                            }
+                        }
+                    }
+                    
+                    if (novel.getNovelId() != null && novel.getTitle() != null) {
+                        novels.add(novel);
+                    }
+                } catch (Exception e) {
+                    Log.e(TAG, "Error parsing novel item", e);
+                }
+            }
+            
+            Log.d(TAG, "Parsed " + novels.size() + " novels from homepage");
+        } catch (Exception e) {
+            Log.e(TAG, "Error parsing novel list", e);
+        }
+        
+        return novels;
+    }
+
+    /**
+     * 解析小說詳情頁
+     * 實際結構：
+     * - 作者: a[href*=authorarticle]
+     * - 插畫師: a[href*=illustratorarticle]
+     * - 翻譯者: a[href*=translatorarticle]
+     * - 標籤: a[href*=tagarticle]
+     */
+    public static Novel parseNovelDetail(String html) {
+        return parseNovelDetail(Jsoup.parse(html));
+    }
+
+    public static Novel parseNovelDetail(Document doc) {
+        long start = System.nanoTime();
+        try {
+            return extractNovelDetail(doc);
+        } finally {
+            Metrics.getInstance().recordSince(Phase.PARSE_DETAIL, start);
+        }
+    }
+
+    private static Novel extractNovelDetail(Document doc) {
+        Novel novel = new Novel();
+        
+        try {
+            // 提取標題 - 通常在 h1 或特定 class 中
+            Element title = doc.selectFirst("h1");
+            if (title == null) {
+                title = doc.selectFirst("div.book-name, div.book-title");
+            }
+            if (title != null) {
+                novel.setTitle(title.text());
+            }
+            
+            // 提取作者 - a[href*=authorarticle]
+            Element authorLink = doc.selectFirst("a[href*=authorarticle]");
+            if (authorLink != null) {
+                novel.setAuthor(authorLink.text());
+            }
+            
+            // 提取插畫師 - a[href*=illustratorarticle]
+            Element illustratorLink = doc.selectFirst("a[href*=illustratorarticle]");
+            if (illustratorLink != null) {
+                novel.setIllustrator(illustratorLink.text());
+            }
+            
+            // 提取翻譯者 - a[href*=translatorarticle]
+            Element translatorLink = doc.selectFirst("a[href*=translatorarticle]");
+            if (translatorLink != null) {
+                novel.setTranslator(translatorLink.text());
+            }
+            
+            // 提取封面
+            Element cover = doc.selectFirst("div.book-img img, div.novel-cover img, img.book-cover");
+            if (cover != null) {
+                String coverUrl = cover.attr("src");
+                coverUrl = resolveUrl(cover, coverUrl);
+                // 過濾 SVG 圖片，因為 Glide 默認不支持
+                if (coverUrl != null && !coverUrl.toLowerCase().endsWith(".svg")) {
+                    novel.setCoverUrl(coverUrl);
+                }
+            }
+            
+            // 提取簡介
+            Element desc = doc.selectFirst("p.introduce, div.introduce, div.book-intro");
+            if (desc != null) {
+                novel.setDescription(desc.text());
+            }
+            
+            // 提取標籤 - a[href*=tagarticle]
+            List<String> tags = new ArrayList<>();
+            Elements tagElements = doc.select("a[href*=tagarticle]");
+            for (Element tag : tagElements) {
+                tags.add(tag.text());
+            }
+            if (!tags.isEmpty()) {
+                novel.setTags(tags);
+            }
+            
+            // 提取評分
+            Element rating = doc.selectFirst("div.score, span.score");
+            if (rating != null) {
+                try {
+                    novel.setRating(Float.parseFloat(rating.text().trim()));
+                } catch (NumberFormatException e) {
+                    Log.w(TAG, "Failed to parse rating", e);
+                }
+            }
+            
+            Log.d(TAG, "Parsed novel detail: " + novel.getTitle());
+        } catch (Exception e) {
+            Log.e(TAG, "Error parsing novel detail", e);
+        }
+        
+        return novel;
+    }
+
+    /**
+     * 解析章節目錄
+     * 實際結構：章節為 a.chapter-li-a，包含 span (章節標題)
+     * 卷標題可能是文本節點或特定元素
+     */
+    public static List<Volume> parseCatalog(String html) {
+        return parseCatalog(Jsoup.parse(html));
+    }
+
+    public static List<Volume> parseCatalog(Document doc) {
+        return parseCatalog(doc, null);
+    }
+
+    /**
+     * 解析章節目錄，每解析完一卷即交給 listener (可為 null)
+     */
+    public static List<Volume> parseCatalog(Document doc, CatalogListener listener) {
+        long start = System.nanoTime();
+        try {
+            return extractCatalog(doc, listener);
+        } finally {
+            Metrics.getInstance().recordSince(Phase.PARSE_CATALOG, start);
+        }
+    }
+
+    /**
+     * 串流解析章節目錄：邊下載邊解析，每解析完一卷即交給 listener (可為 null)
+     * 已處理的章節從 DOM 中移除，長目錄的內存佔用不隨章節數增長
+     * (reader 由調用者負責關閉)
+     */
+    public static List<Volume> readCatalog(Reader reader, String baseUri, CatalogListener listener) throws IOException {
+        long start = System.nanoTime();
+        try {
+            Reader input = reader.markSupported() ? reader : new BufferedReader(reader);
+            StreamParser streamer = new StreamParser(Parser.htmlParser()).parse(input, baseUri);
+            Document doc = streamer.document();
+            CatalogBuilder builder = new CatalogBuilder(doc, listener, true);
+
+            Iterator<Element> elements = streamer.iterator();
+            while (elements.hasNext()) {
+                // 元素在閉合時才會返回：章節連結和卷標題的內容此時已完整
+                Element element = elements.next();
+                if (builder.accept(element) || element.normalName().equals("li")) {
+                    element.remove();
+                }
+            }
+            return builder.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            Metrics.getInstance().recordSince(Phase.PARSE_CATALOG, start);
+        }
+    }
+
+    private static List<Volume> extractCatalog(Document doc, CatalogListener listener) {
+        CatalogBuilder builder = new CatalogBuilder(doc, listener, false);
+        try {
+            // 按文檔順序一次遍歷，命中卷標題或章節連結後不再進入其子節點
+            NodeTraversor.filter(new NodeFilter() {
+                @Override
+                public FilterResult head(Node node, int depth) {
+                    if (node instanceof Element && builder.accept((Element) node)) {
+                        return FilterResult.SKIP_ENTIRELY;
+                    }
+                    return FilterResult.CONTINUE;
+                }
+
+                @Override
+                public FilterResult tail(Node node, int depth) {
+                    return FilterResult.CONTINUE;
+                }
+            }, doc);
+        } catch (Exception e) {
+            Log.e(TAG, "Error parsing catalog", e);
+        }
+        return builder.finish();
+    }
+
+    /**
+     * 按文檔順序接收元素，增量建立卷和章節
+     * 卷標題按結構識別 (手機版為 li.chapter-bar，其他版式為卷名元素)，而不是按文字內容猜測；
+     * 卷在遇到下一個卷標題或結束時完成並交給 listener，沒有章節的卷略去
+     */
+    private static final class CatalogBuilder {
+        private final Document doc;
+        private final CatalogListener listener;
+        // 串流時元素在閉合時返回，子元素先於外層元素
+        private final boolean streaming;
+        private final List<Volume> volumes = new ArrayList<>();
+        private Volume current;
+        private int chapterCount;
+
+        CatalogBuilder(Document doc, CatalogListener listener, boolean streaming) {
+            this.doc = doc;
+            this.listener = listener;
+            this.streaming = streaming;
+        }
+
+        /**
+         * @return 元素已作為卷標題或章節連結處理
+         */
+        boolean accept(Element element) {
+            boolean link = CHAPTER_LINK.matches(doc, element);
+            if (!link && !VOLUME_HEADER.matches(doc, element)) {
+                return false;
+            }
+            // 與 DOM 遍歷跳過已命中元素的子節點一致：嵌在外層卷標題或章節連結內的 (如 li.chapter-bar > h3.volume-title)
+            // 留在原處，待外層元素閉合時連同其文字一併處理
+            if (streaming && insideEntry(element)) {
+                return false;
+            }
+            if (link) {
+                Chapter chapter = parseChapterElement(element);
+                if (chapter != null) {
+                    if (current == null) {
+                        // 第一個卷標題之前的章節
+                        current = new Volume("vol_" + (volumes.size() + 1), "第一卷");
+                    }
+                    current.addChapter(chapter);
+                    chapterCount++;
+                }
+                return true;
+            }
+            complete();
+            current = new Volume("vol_" + (volumes.size() + 1), element.text());
+            return true;
+        }
+
+        private boolean insideEntry(Element element) {
+            for (Element parent = element.parent(); parent != null; parent = parent.parent()) {
+                if (CHAPTER_LINK.matches(doc, parent) || VOLUME_HEADER.matches(doc, parent)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        List<Volume> finish() {
+            complete();
+            if (volumes.isEmpty()) {
+                Log.w(TAG, "No chapters found with selector a.chapter-li-a");
+            } else {
+                Log.d(TAG, "Parsed " + volumes.size() + " volumes with total chapters: " + chapterCount);
+            }
+            return volumes;
+        }
+
+        private void complete() {
+            if (current != null && !current.getChapters().isEmpty()) {
+                volumes.add(current);
+                if (listener != null) {
+                    listener.onVolume(current);
+                }
+            }
+            current = null;
+        }
+    }
+
+    /**
+     * 解析單個章節元素
+     * 實際結構：a.chapter-li-a > span (章節標題)
+     */
+    private static Chapter parseChapterElement(Element chapterLink) {
+        try {
+            String chapterUrl = chapterLink.attr("href");
+            
+            // 提取章節標題 - 在 span 中
+            Element titleSpan = chapterLink.selectFirst(CHAPTER_TITLE);
+            String chapterTitle = titleSpan != null ? titleSpan.text() : chapterLink.text();
+            
+            // 從 URL 中提取章節 ID
+            // 不符合章節 URL 格式時以 URL 本身作為 ID
+            String chapterId = LinovelibUrls.chapterId(chapterUrl);
+            if (chapterId == null) {
+                chapterId = chapterUrl;
+            }
+            
+            // 確保 URL 是完整的
+            chapterUrl = resolveUrl(chapterLink, chapterUrl);
+            
+            return new Chapter(chapterId, chapterTitle, chapterUrl);
+        } catch (Exception e) {
+            Log.e(TAG, "Error parsing chapter element", e);
+            return null;
+        }
+    }
+
+    /**
+     * 解析章節內容 (已按順序解析好的各分頁，在調用線程上逐頁處理)
+     */
+    public static ChapterContent parseChapterContent(List<Document> pages) {
+        List<ChapterPage> chapterPages = new ArrayList<>(pages.size());
+        for (int i = 0; i < pages.size(); i++) {
+            chapterPages.add(new ChapterPage(i, pages.get(i).location(), pages.get(i)));
+        }
+        return parseChapterPages(chapterPages, null);
+    }
+
+    /**
+     * 解析章節內容：第一頁在調用線程上處理，其餘各頁分別交給 executor，
+     * 完成後按頁序合併；executor 為 null 時全部在調用線程上處理
+     */
+    public static ChapterContent parseChapterPages(List<ChapterPage> pages, Executor executor) {
+        long start = System.nanoTime();
+        try {
+            return extractChapterContent(pages, executor);
+        } finally {
+            Metrics.getInstance().recordSince(Phase.PARSE_CHAPTER, start);
+        }
+    }
+
+    private static ChapterContent extractChapterContent(List<ChapterPage> pages, Executor executor) {
+        int pageCount = pages.size();
+        List<FutureTask<PageContent>> tasks = new ArrayList<>(pageCount);
+        for (int i = 1; i < pageCount; i++) {
+            ChapterPage page = pages.get(i);
+            FutureTask<PageContent> task = new FutureTask<>(() -> extractPage(page, pageCount));
+            tasks.add(task);
+            if (executor != null) {
+                try {
+                    executor.execute(task);
+                } catch (RejectedExecutionException e) {
+                    // 由下方的合併迴圈在調用線程上執行
+                }
+            }
+        }
+
+        ChapterContent content = new ChapterContent();
+        PageContent first = pageCount > 0 ? extractPage(pages.get(0), pageCount) : new PageContent();
+        if (first.challenge) {
+            for (FutureTask<PageContent> task : tasks) {
+                task.cancel(false);
+            }
+            content.setTitle("無法讀取：Cloudflare 驗證");
+            content.setContent("檢測到網站啟用 Cloudflare 防護，App 無法自動通過驗證。\n\n建議：\n1. 稍後再試\n2. 使用瀏覽器打開網站");
+            return content;
+        }
+
+        List<ChapterContent> bodies = new ArrayList<>(pageCount);
+        bodies.add(first.body);
+        content.setTitle(first.title);
+        content.setPrevChapterUrl(first.prevChapterUrl);
+        PageContent last = first;
+        for (FutureTask<PageContent> task : tasks) {
+            // 未被執行的任務 (無 executor 或被拒絕) 在此直接執行，已完成的任務為空操作
+            task.run();
+            last = awaitPage(task);
+            bodies.add(last.body);
+        }
+        content.setNextChapterUrl(last.nextChapterUrl);
+
+        // 各頁按總量一次複製到章節的數組中；純文本 (getContent) 由 ChapterContent 按需從各項生成
+        content.addAll(bodies);
+        content.trimToSize();
+        Log.d(TAG, "Parsed chapter content, pages: " + pageCount + ", total items: " + content.getItemCount());
+
+        return content;
+    }
+
+    private static PageContent awaitPage(FutureTask<PageContent> task) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return task.get();
+                } catch (InterruptedException e) {
+                    // 合併必須等到所有頁面完成，中斷狀態留給調用者處理
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    // extractPage 已捕獲解析異常，這裡只可能是未預期的錯誤
+                    Log.e(TAG, "Error parsing chapter page", e.getCause());
+                    return new PageContent();
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * 解析單個分頁，只讀取該頁的 DOM，可在任意線程上執行
+     */
+    private static PageContent extractPage(ChapterPage page, int pageCount) {
+        PageContent result = new PageContent();
+        Document doc = page.getDocument();
+        int i = page.getIndex();
+        try {
+            // 內容區、標題和導航連結在一次遍歷中找出；標題和上一章只從第一頁提取，下一章只從最後一頁提取
+            boolean first = i == 0;
+            ContentLocator.Result located = LOCATOR.locate(doc, first, i == pageCount - 1);
+
+            // Cloudflare detection (只在第一頁檢查)
+            if (first) {
+                String pageTitle = doc.title();
+                if (pageTitle.contains("Cloudflare") || pageTitle.contains("Attention Required") ||
+                    pageTitle.contains("Just a moment") || located.isChallenge()) {
+                    result.challenge = true;
+                    return result;
+                }
+
+                if (located.getTitle() != null) {
+                    result.title = located.getTitle().text();
+                }
+                Element prevLink = located.getPrevLink();
+                if (prevLink != null) {
+                    result.prevChapterUrl = resolveUrl(prevLink, prevLink.attr("href"));
+                }
+            }
+
+            Element nextLink = located.getNextLink();
+            if (nextLink != null) {
+                result.nextChapterUrl = resolveUrl(nextLink, nextLink.attr("href"));
+            }
+
+            Element contentElement = located.getContent();
+            if (contentElement != null) {
+                contentElement.select(ContentLocator.NON_CONTENT).remove();
+
+                // 按文檔順序把行內文本合併為段落，圖片保留原位置
+                ParagraphCollector collector = new ParagraphCollector(result.body);
+                NodeTraversor.filter(collector, contentElement);
+                collector.flush();
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error parsing chapter page " + i, e);
+        }
+        return result;
+    }
+
+    /**
+     * 單個分頁的解析結果，合併時按頁序拼接
+     */
+    private static class PageContent {
+        final ChapterContent body = new ChapterContent();
+        String title;
+        String prevChapterUrl;
+        String nextChapterUrl;
+        boolean challenge;
+    }
+
+    /**
+     * 按段落收集章節內容：行內文本 (span、b、ruby 等) 累積到當前段落，
+     * 遇到塊級元素的邊界、br 或圖片時結束段落，圖片按出現位置插入；
+     * ruby 只保留正文，注音 (rt) 和括號 (rp) 整個略過
+     * 由 NodeTraversor 迭代遍歷，不受 DOM 深度限制
+     */
+    private static final class ParagraphCollector implements NodeFilter {
+        private final ChapterContent body;
+        private final StringBuilder paragraph = new StringBuilder();
+
+        ParagraphCollector(ChapterContent body) {
+            this.body = body;
+        }
+
+        @Override
+        public FilterResult head(Node node, int depth) {
+            if (node instanceof TextNode) {
+                // 連續空白合併為一個空格，段首空白略去；全形空格 (段首縮排) 保留
+                int length = paragraph.length();
+                boolean stripLeading = length == 0 || paragraph.charAt(length - 1) == ' ';
+                appendNormalisedWhitespace(((TextNode) node).getWholeText(), stripLeading);
+            } else if (node instanceof Element) {
+                Element element = (Element) node;
+                String tagName = element.normalName();
+                if (tagName.equals("rt") || tagName.equals("rp")) {
+                    return FilterResult.SKIP_ENTIRELY;
+                }
+                if (tagName.equals("img")) {
+                    flush();
+                    addImage(element);
+                } else if (tagName.equals("br") || element.isBlock()) {
+                    flush();
+                }
+            }
+            return FilterResult.CONTINUE;
+        }
+
+        @Override
+        public FilterResult tail(Node node, int depth) {
+            if (node instanceof Element && ((Element) node).isBlock()) {
+                flush();
+            }
+            return FilterResult.CONTINUE;
+        }
+
+        /**
+         * 與 Element.text() 的空白處理相同：空白 (含 &nbsp;) 連續出現時只保留一個空格，
+         * stripLeading 時略去開頭的空白；零寬空格和軟連字號去掉
+         */
+        private void appendNormalisedWhitespace(String text, boolean stripLeading) {
+            boolean lastWasWhite = false;
+            boolean reachedNonWhite = false;
+            for (int i = 0; i < text.length(); ) {
+                int c = text.codePointAt(i);
+                if (c == ' ' || c == '\t' || c == '\n' || c == '\f' || c == '\r' || c == '\u00a0') {
+                    if ((!stripLeading || reachedNonWhite) && !lastWasWhite) {
+                        paragraph.append(' ');
+                        lastWasWhite = true;
+                    }
+                } else if (c != '\u200b' && c != '\u00ad') {
+                    paragraph.appendCodePoint(c);
+                    lastWasWhite = false;
+                    reachedNonWhite = true;
+                }
+                i += Character.charCount(c);
+            }
+        }
+
+        private void addImage(Element img) {
+            String src = img.attr("data-src");
+            if (src.isEmpty()) src = img.attr("src");
+
+            if (!src.isEmpty()) {
+                src = resolveUrl(img, src);
+                if (!src.contains("icon") && !src.endsWith(".svg")) {
+                    int width = dimension(img.attr("width"));
+                    int height = dimension(img.attr("height"));
+                    // 只有一邊時無法得出比例，視為未知
+                    if (width == 0 || height == 0) {
+                        width = 0;
+                        height = 0;
+                    }
+                    body.addImage(src, width, height);
+                }
+            }
+        }
+
+        /**
+         * 解析 width / height 屬性的像素值 ("800" 或 "800px")，百分比等其他形式返回 0
+         */
+        private static int dimension(String value) {
+            int end = 0;
+            int result = 0;
+            while (end < value.length() && end < 6) {
+                char c = value.charAt(end);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                result = result * 10 + (c - '0');
+                end++;
+            }
+            if (end == 0 || !(end == value.length() || value.startsWith("px", end) && end + 2 == value.length())) {
+                return 0;
+            }
+            return result;
+        }
+
+        /**
+         * 結束當前段落，非空白時作為一個文本項
+         */
+        void flush() {
+            int end = paragraph.length();
+            while (end > 0 && paragraph.charAt(end - 1) == ' ') {
+                end--;
+            }
+            if (!isBlank(paragraph, end)) {
+                // 直接從段落緩衝區複製到章節的字元數組，不建立中間字串
+                body.addText(paragraph, 0, end);
+            }
+            paragraph.setLength(0);
+        }
+
+        private static boolean isBlank(CharSequence text, int end) {
+            for (int i = 0; i < end; i++) {
+                char c = text.charAt(i);
+                if (!Character.isWhitespace(c) && !Character.isSpaceChar(c)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 串流讀取章節頁：邊下載邊建立 DOM，
+     * 內容區、上下章連結與 url_next 都已取得後即停止，不再讀取頁面其餘部分
+     * (reader 由調用者負責關閉)
+     */
+    public static Document readChapterPage(Reader reader, String baseUri) throws IOException {
+        // StreamParser 需要支援 mark() 的 Reader，OkHttp 的 charStream() 不支援
+        Reader input = reader.markSupported() ? reader : new BufferedReader(reader);
+        StreamParser streamer = new StreamParser(Parser.htmlParser()).parse(input, baseUri);
+        boolean hasContent = false;
+        boolean hasPrev = false;
+        boolean hasNext = false;
+        boolean hasNextPageUrl = false;
+
+        Iterator<Element> elements = streamer.iterator();
+        while (elements.hasNext()) {
+            // 元素在閉合時才會返回，此時其子節點已完整
+            Element element = elements.next();
+            Document doc = streamer.document();
+
+            if (!hasContent && PRIMARY_CONTENT.matches(doc, element)) {
+                hasContent = true;
+            } else if (!hasPrev && ContentLocator.PREV_LINK.matches(doc, element)) {
+                hasPrev = true;
+            } else if (!hasNext && ContentLocator.NEXT_LINK.matches(doc, element)) {
+                hasNext = true;
+            } else if (!hasNextPageUrl && element.normalName().equals("script")
+                    && element.data().contains("url_next:")) {
+                hasNextPageUrl = true;
+            }
+
+            if (hasContent && hasPrev && hasNext && hasNextPageUrl) {
+                streamer.stop();
+                break;
+            }
+        }
+        return streamer.document();
+    }
+
+    /**
+     * 提取下一頁 URL (從已解析的頁面)
+     */
+    public static String getNextPageUrl(Document doc) {
+        for (Element script : doc.getElementsByTag("script")) {
+            String data = script.data();
+            if (data.contains("url_next:")) {
+                return extractNextPageUrl(data, doc.location());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 提取下一頁 URL (用於分頁章節)
+     */
+    public static String getNextPageUrl(String html) {
+        return extractNextPageUrl(html, BASE_URL);
+    }
+
+    private static String extractNextPageUrl(String html, String baseUri) {
+        try {
+            // 嘗試從 JavaScript 變量中提取
+            // var ReadParams={...,url_next:'/novel/4613/269999_2.html',...}
+            int startIndex = html.indexOf("url_next:'");
+            if (startIndex != -1) {
+                startIndex += 10; // len("url_next:'")
+                int endIndex = html.indexOf("'", startIndex);
+                if (endIndex != -1) {
+                    String url = html.substring(startIndex, endIndex);
+                    if (!url.isEmpty() && !url.equals("#")) {
+                        return resolveUrl(baseUri, url);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error parsing next page url", e);
+        }
+        return null;
+    }
+
+    /**
+     * 將相對 URL 補全為絕對 URL
+     * 以頁面實際請求的地址為基準，使鏈接跟隨當前選用的鏡像；沒有基準地址時 (從字串解析) 使用預設站點
+     */
+    private static String resolveUrl(Node node, String url) {
+        return resolveUrl(node.baseUri(), url);
+    }
+
+    private static String resolveUrl(String baseUri, String url) {
+        return LinovelibUrls.resolve(baseUri.isEmpty() ? BASE_URL + "/" : baseUri, url);
+    }
+}
@@ -0,0 +1,368 @@
+package com.linovelib.reader.util;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+
+/**
+ * 站點 URL 的 ID 提取、補全和規範化
+ * 逐字元掃描代替正則，不編譯 Pattern，除返回的子字串外不分配對象；
+ * 絕對和相對形式都適用，URL 中出現多處匹配時與原先的 ".*X.*" 正則一樣取最後一處
+ */
+public final class LinovelibUrls {
+    private static final String NOVEL = "/novel/";
+    // 章節 ID 沿用原先 ".*novel/..." 正則的寫法，不要求前導斜線，相對路徑 novel/1/2.html 也適用
+    private static final String NOVEL_SEGMENT = "novel/";
+    private static final String HTML = ".html";
+    private static final String CATALOG = "catalog";
+    // 頁碼超過此位數時不視為分頁，避免 int 溢出
+    private static final int MAX_PAGE_DIGITS = 9;
+    // 協議名中字母和數字以外的字元，與 jsoup 的 [a-zA-Z0-9+-.] 相同 (+-. 為字元範圍，包含逗號)
+    private static final String SCHEME_CHARS = "+,-.";
+
+    private LinovelibUrls() {
+    }
+
+    /**
+     * 小說 ID：/novel/4649.html -> 4649，不符合時返回 null
+     */
+    public static String novelId(String url) {
+        for (int at = url.lastIndexOf(NOVEL); at >= 0; at = lastIndexOf(url, NOVEL, at)) {
+            int start = at + NOVEL.length();
+            int end = skipDigits(url, start);
+            if (end > start && url.startsWith(HTML, end)) {
+                return url.substring(start, end);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 章節 ID：/novel/4649/269999.html 或分頁 /novel/4649/269999_2.html -> 269999，不符合時返回 null
+     */
+    public static String chapterId(String url) {
+        for (int at = url.lastIndexOf(NOVEL_SEGMENT); at >= 0; at = lastIndexOf(url, NOVEL_SEGMENT, at)) {
+            int start = chapterIdStart(url, at + NOVEL_SEGMENT.length());
+            if (start >= 0) {
+                int end = skipDigits(url, start);
+                if (end > start && chapterEnd(url, end) >= 0) {
+                    return url.substring(start, end);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 分頁 URL 的下一頁：269999_2.html -> 269999_3.html
+     * 僅適用於以帶頁碼的章節頁結尾的 URL，其他情況返回 null
+     */
+    public static String followingPageUrl(String url) {
+        if (!url.endsWith(HTML)) {
+            return null;
+        }
+        for (int at = url.lastIndexOf(NOVEL); at >= 0; at = lastIndexOf(url, NOVEL, at)) {
+            int start = chapterIdStart(url, at + NOVEL.length());
+            if (start < 0) {
+                continue;
+            }
+            int idEnd = skipDigits(url, start);
+            if (idEnd == start || idEnd >= url.length() || url.charAt(idEnd) != '_') {
+                continue;
+            }
+            int pageStart = idEnd + 1;
+            int pageEnd = skipDigits(url, pageStart);
+            if (pageEnd > pageStart && pageEnd - pageStart <= MAX_PAGE_DIGITS
+                    && pageEnd + HTML.length() == url.length()) {
+                int page = Integer.parseInt(url.substring(pageStart, pageEnd));
+                return url.substring(0, pageStart) + (page + 1) + HTML;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 路徑是否為小說詳情頁 /novel/{id}.html (整個路徑匹配)
+     */
+    public static boolean isDetailPath(String path) {
+        if (!path.startsWith(NOVEL)) {
+            return false;
+        }
+        int end = skipDigits(path, NOVEL.length());
+        return end > NOVEL.length() && end + HTML.length() == path.length() && path.startsWith(HTML, end);
+    }
+
+    /**
+     * 路徑是否為目錄頁 /novel/{id}/catalog (整個路徑匹配)
+     */
+    public static boolean isCatalogPath(String path) {
+        if (!path.startsWith(NOVEL)) {
+            return false;
+        }
+        int end = skipDigits(path, NOVEL.length());
+        return end > NOVEL.length() && end + 1 + CATALOG.length() == path.length()
+                && path.charAt(end) == '/' && path.startsWith(CATALOG, end + 1);
+    }
+
+    /**
+     * 路徑是否為章節頁 /novel/{id}/{chapterId}[_{page}].html (整個路徑匹配)
+     */
+    public static boolean isChapterPath(String path) {
+        if (!path.startsWith(NOVEL)) {
+            return false;
+        }
+        int start = chapterIdStart(path, NOVEL.length());
+        if (start < 0) {
+            return false;
+        }
+        int end = skipDigits(path, start);
+        return end > start && chapterEnd(path, end) == path.length();
+    }
+
+    /**
+     * 相對 URL 補全為絕對 URL
+     * 常見的根相對路徑 (/novel/...) 直接拼接 baseUri 的協議和主機，其餘交給 java.net.URL 按 RFC 3986 解析，
+     * 結果與 jsoup 的 Element.absUrl 一致 (無法解析時返回空字串)
+     */
+    public static String resolve(String baseUri, String url) {
+        if (url.isEmpty() || url.startsWith("http")) {
+            return url;
+        }
+        if (url.charAt(0) == '/' && (url.length() == 1 || url.charAt(1) != '/') && isPlain(url)) {
+            int origin = originEnd(baseUri);
+            if (origin > 0) {
+                return baseUri.substring(0, origin).concat(url);
+            }
+        }
+        return resolveWithUrl(stripControlChars(baseUri), stripControlChars(url));
+    }
+
+    /**
+     * 站點根地址加路徑，路徑已是絕對 URL 時原樣返回
+     */
+    public static String absolute(String baseUrl, String url) {
+        return url.startsWith("http") ? url : baseUrl + url;
+    }
+
+    /**
+     * 規範化 URL 作為快取和請求合併的鍵：協議和主機名小寫、去除預設埠和片段、空路徑補為 "/"
+     * 已是規範形式時返回原字串；不是 http(s) URL 時原樣返回
+     */
+    public static String cacheKey(String url) {
+        int schemeEnd = url.indexOf("://");
+        if (schemeEnd <= 0) {
+            return url;
+        }
+        boolean https;
+        if (schemeEnd == 5 && url.regionMatches(true, 0, "https", 0, 5)) {
+            https = true;
+        } else if (schemeEnd == 4 && url.regionMatches(true, 0, "http", 0, 4)) {
+            https = false;
+        } else {
+            return url;
+        }
+
+        int hostStart = schemeEnd + 3;
+        int authorityEnd = hostStart;
+        int length = url.length();
+        while (authorityEnd < length) {
+            char c = url.charAt(authorityEnd);
+            if (c == '/' || c == '?' || c == '#') {
+                break;
+            }
+            authorityEnd++;
+        }
+        int fragment = url.indexOf('#', authorityEnd);
+        int end = fragment >= 0 ? fragment : length;
+
+        String defaultPort = https ? ":443" : ":80";
+        int hostEnd = authorityEnd;
+        if (url.regionMatches(authorityEnd - defaultPort.length(), defaultPort, 0, defaultPort.length())) {
+            hostEnd = authorityEnd - defaultPort.length();
+        }
+        boolean emptyPath = authorityEnd == end || url.charAt(authorityEnd) != '/';
+
+        if (!hasUpperCase(url, 0, hostEnd) && hostEnd == authorityEnd && !emptyPath && end == length) {
+            return url;
+        }
+        StringBuilder sb = new StringBuilder(end + 1);
+        for (int i = 0; i < hostEnd; i++) {
+            sb.append(Character.toLowerCase(url.charAt(i)));
+        }
+        if (emptyPath) {
+            sb.append('/');
+        }
+        sb.append(url, authorityEnd, end);
+        return sb.toString();
+    }
+
+    /**
+     * novelStart ("novel/" 之後) 起為 "{數字}/" 時返回章節 ID 的起點，否則返回 -1
+     */
+    /**
+     * 與 jsoup 的解析規則相同：以 ? 開頭的只替換查詢，多餘的 ../ 不越過根目錄；
+     * baseUri 無效時 url 本身須為絕對 URL，都無法解析時帶協議的原樣返回，否則為空字串
+     */
+    private static String resolveWithUrl(String baseUri, String url) {
+        try {
+            URL base;
+            try {
+                base = new URL(baseUri);
+            } catch (MalformedURLException e) {
+                return new URL(url).toExternalForm();
+            }
+            if (url.startsWith("?")) {
+                url = base.getPath() + url;
+            }
+            URL resolved = new URL(base, url);
+            String file = stripExtraDotSegments(resolved.getFile());
+            if (resolved.getRef() != null) {
+                file = file + "#" + resolved.getRef();
+            }
+            return new URL(resolved.getProtocol(), resolved.getHost(), resolved.getPort(), file).toExternalForm();
+        } catch (MalformedURLException e) {
+            return hasScheme(url) ? url : "";
+        }
+    }
+
+    /**
+     * 去掉路徑開頭越過根目錄的 ./ 和 ../ 片段：/../../a -> /a
+     */
+    private static String stripExtraDotSegments(String file) {
+        if (!file.startsWith("/")) {
+            return file;
+        }
+        int at = 1;
+        while (true) {
+            if (file.startsWith("./", at)) {
+                at += 2;
+            } else if (file.startsWith("../", at)) {
+                at += 3;
+            } else {
+                break;
+            }
+        }
+        return at == 1 ? file : "/" + file.substring(at);
+    }
+
+    /**
+     * 去掉 ASCII 控制字元 (如屬性值中的換行和 Tab)
+     */
+    private static String stripControlChars(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) < 0x20) {
+                StringBuilder builder = new StringBuilder(s.length());
+                for (int j = 0; j < s.length(); j++) {
+                    char c = s.charAt(j);
+                    if (c >= 0x20) {
+                        builder.append(c);
+                    }
+                }
+                return builder.toString();
+            }
+        }
+        return s;
+    }
+
+    /**
+     * 是否以協議開頭 (字母開頭，後接字母、數字或 +-.，以冒號結束)
+     */
+    private static boolean hasScheme(String url) {
+        if (url.isEmpty() || !isAsciiLetter(url.charAt(0))) {
+            return false;
+        }
+        for (int i = 1; i < url.length(); i++) {
+            char c = url.charAt(i);
+            if (c == ':') {
+                return true;
+            }
+            if (!isAsciiLetter(c) && !(c >= '0' && c <= '9') && SCHEME_CHARS.indexOf(c) < 0) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z';
+    }
+
+    private static int chapterIdStart(String url, int novelStart) {
+        int novelEnd = skipDigits(url, novelStart);
+        if (novelEnd == novelStart || novelEnd >= url.length() || url.charAt(novelEnd) != '/') {
+            return -1;
+        }
+        return novelEnd + 1;
+    }
+
+    /**
+     * 章節 ID 之後為可選的 "_{頁碼}" 加 ".html" 時返回其結束位置，否則返回 -1
+     */
+    private static int chapterEnd(String url, int idEnd) {
+        int end = idEnd;
+        if (end < url.length() && url.charAt(end) == '_') {
+            int pageEnd = skipDigits(url, end + 1);
+            if (pageEnd == end + 1) {
+                return -1;
+            }
+            end = pageEnd;
+        }
+        return url.startsWith(HTML, end) ? end + HTML.length() : -1;
+    }
+
+    private static int lastIndexOf(String url, String needle, int previous) {
+        return previous == 0 ? -1 : url.lastIndexOf(needle, previous - 1);
+    }
+
+    private static int skipDigits(String s, int from) {
+        int i = from;
+        while (i < s.length()) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * 協議和主機部分的結束位置 (路徑的起點)，不是帶主機的絕對 URL 時返回 -1
+     */
+    private static int originEnd(String baseUri) {
+        int schemeEnd = baseUri.indexOf("://");
+        if (schemeEnd <= 0) {
+            return -1;
+        }
+        int hostStart = schemeEnd + 3;
+        for (int i = hostStart; i < baseUri.length(); i++) {
+            char c = baseUri.charAt(i);
+            if (c == '/' || c == '?' || c == '#') {
+                return i > hostStart ? i : -1;
+            }
+        }
+        return baseUri.length() > hostStart ? baseUri.length() : -1;
+    }
+
+    /**
+     * 只含可見 ASCII 字元，且沒有 "." 路徑段，拼接結果與完整解析相同
+     */
+    private static boolean isPlain(String url) {
+        for (int i = 0; i < url.length(); i++) {
+            char c = url.charAt(i);
+            if (c <= ' ' || c >= 0x7f || c == '\\' || (c == '.' && url.charAt(i - 1) == '/')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasUpperCase(String s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
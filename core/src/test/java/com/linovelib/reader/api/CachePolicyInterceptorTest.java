@@ -0,0 +1,161 @@
+package com.linovelib.reader.api;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Headers;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.Okio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class CachePolicyInterceptorTest {
+    private static final String BASE = "https://tw.linovelib.com";
+    private static final String CHAPTER_URL = BASE + "/novel/4649/269999.html";
+    private static final String CHAPTER = "<html><body><h1>第1章</h1><div id=\"acontent\"><p>正文</p></div></body></html>";
+    private static final String ERROR_PAGE = "<html><body><p>章節不存在</p></body></html>";
+    private static final MediaType HTML = MediaType.get("text/html; charset=utf-8");
+
+    @Test
+    public void maxAgeFollowsEndpoint() throws IOException {
+        assertMaxAge(Endpoint.HOME, BASE + "/");
+        assertMaxAge(Endpoint.DETAIL, BASE + "/novel/4649.html");
+        assertMaxAge(Endpoint.CATALOG, BASE + "/novel/4649/catalog");
+        assertMaxAge(Endpoint.CHAPTER, CHAPTER_URL);
+        assertMaxAge(Endpoint.CHAPTER, BASE + "/novel/4649/269999_2.html");
+
+        // 不強制快取的類型保留伺服器的標頭
+        assertEquals("no-cache", cacheControl(BASE + "/search?q=1", 200, plain(), CHAPTER));
+        assertEquals("no-cache", cacheControl(BASE + "/files/cover.jpg", 200, plain(), CHAPTER));
+        assertEquals("no-cache", cacheControl(BASE + "/user/login", 200, plain(), CHAPTER));
+    }
+
+    @Test
+    public void challengePageIsNotExtended() throws IOException {
+        Headers headers = plain().newBuilder().add("cf-mitigated", "challenge").build();
+        assertEquals("no-cache", cacheControl(CHAPTER_URL, 200, headers, CHAPTER));
+        assertEquals("no-cache", cacheControl(BASE + "/novel/4649/catalog", 200, headers, CHAPTER));
+    }
+
+    @Test
+    public void chapterWithoutContentIsNotExtended() throws IOException {
+        assertEquals("no-cache", cacheControl(CHAPTER_URL, 200, plain(), ERROR_PAGE));
+        // 其他頁面類型不檢查正文
+        assertEquals("public, max-age=" + Endpoint.DETAIL.getMaxAgeSeconds(),
+                cacheControl(BASE + "/novel/4649.html", 200, plain(), ERROR_PAGE));
+    }
+
+    @Test
+    public void compressedBodiesAreInspected() throws IOException {
+        String extended = "public, max-age=" + Endpoint.CHAPTER.getMaxAgeSeconds();
+        Headers gzip = plain().newBuilder().add("Content-Encoding", "gzip").build();
+        assertEquals(extended, cacheControl(CHAPTER_URL, 200, gzip, gzip(CHAPTER)));
+        assertEquals("no-cache", cacheControl(CHAPTER_URL, 200, gzip, gzip(ERROR_PAGE)));
+
+        Headers br = plain().newBuilder().add("Content-Encoding", "br").build();
+        assertEquals(extended, cacheControl(CHAPTER_URL, 200, br, brotli(CHAPTER)));
+        assertEquals("no-cache", cacheControl(CHAPTER_URL, 200, br, brotli(ERROR_PAGE)));
+
+        // 未知的壓縮格式無法確認內容，不延長
+        Headers zstd = plain().newBuilder().add("Content-Encoding", "zstd").build();
+        assertEquals("no-cache", cacheControl(CHAPTER_URL, 200, zstd, CHAPTER.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void notModifiedIsExtendedAndErrorsAreNot() throws IOException {
+        assertEquals("public, max-age=" + Endpoint.CHAPTER.getMaxAgeSeconds(),
+                cacheControl(CHAPTER_URL, 304, plain(), ""));
+        assertEquals("no-cache", cacheControl(CHAPTER_URL, 404, plain(), CHAPTER));
+        Headers noStore = new Headers.Builder().add("Cache-Control", "no-store").build();
+        Response response = execute(CHAPTER_URL, 200, noStore, CHAPTER.getBytes(StandardCharsets.UTF_8));
+        assertEquals("no-store", response.header("Cache-Control"));
+    }
+
+    @Test
+    public void extendedResponseDropsLegacyHeaders() throws IOException {
+        Headers headers = plain().newBuilder()
+                .add("Pragma", "no-cache")
+                .add("Expires", "Thu, 01 Jan 1970 00:00:00 GMT")
+                .build();
+        Response response = execute(CHAPTER_URL, 200, headers, CHAPTER.getBytes(StandardCharsets.UTF_8));
+        assertNull(response.header("Pragma"));
+        assertNull(response.header("Expires"));
+        assertEquals(TimeUnit.DAYS.toSeconds(7), response.cacheControl().maxAgeSeconds());
+    }
+
+    private static void assertMaxAge(Endpoint endpoint, String url) throws IOException {
+        assertEquals(url, endpoint, Endpoint.of(HttpUrl.get(url)));
+        assertEquals(url, "public, max-age=" + endpoint.getMaxAgeSeconds(), cacheControl(url, 200, plain(), CHAPTER));
+    }
+
+    private static Headers plain() {
+        return new Headers.Builder().add("Cache-Control", "no-cache").build();
+    }
+
+    private static String cacheControl(String url, int code, Headers headers, String body) throws IOException {
+        return cacheControl(url, code, headers, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String cacheControl(String url, int code, Headers headers, byte[] body) throws IOException {
+        try (Response response = execute(url, code, headers, body)) {
+            return response.header("Cache-Control");
+        }
+    }
+
+    /**
+     * 應用攔截器可直接返回構造的回應，不經網路；CachePolicyInterceptor 在它之外，看到的就是這個回應
+     */
+    private static Response execute(String url, int code, Headers headers, byte[] body) throws IOException {
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(new CachePolicyInterceptor())
+                .addInterceptor(chain -> new Response.Builder()
+                        .request(chain.request())
+                        .protocol(Protocol.HTTP_1_1)
+                        .code(code)
+                        .message("Status " + code)
+                        .headers(headers)
+                        .body(ResponseBody.create(body, HTML))
+                        .build())
+                .build();
+        return client.newCall(new Request.Builder().url(url).build()).execute();
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        Buffer buffer = new Buffer();
+        try (BufferedSink sink = Okio.buffer(new GzipSink(buffer))) {
+            sink.writeUtf8(text);
+        }
+        return buffer.readByteArray();
+    }
+
+    /**
+     * 以單個未壓縮的元塊組成 brotli 流 (測試依賴中只有解碼器)：
+     * WBITS=16、ISLAST=0、4 個半位元組的 MLEN-1、ISUNCOMPRESSED=1，補齊到位元組邊界後接原始內容，
+     * 最後是 ISLAST=1、ISLASTEMPTY=1 的結束元塊
+     */
+    private static byte[] brotli(String text) {
+        byte[] data = text.getBytes(StandardCharsets.UTF_8);
+        int header = (data.length - 1) << 4 | 1 << 20;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(header & 0xff);
+        out.write(header >> 8 & 0xff);
+        out.write(header >> 16 & 0xff);
+        out.write(data, 0, data.length);
+        out.write(0x03);
+        return out.toByteArray();
+    }
+}
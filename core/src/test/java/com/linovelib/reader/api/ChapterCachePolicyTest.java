@@ -0,0 +1,155 @@
+package com.linovelib.reader.api;
+
+import com.linovelib.reader.model.ChapterContent;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ChapterCachePolicyTest {
+    private static final String URL = "https://tw.linovelib.com/novel/4649/269999.html";
+    private static final String NEXT = "https://tw.linovelib.com/novel/4649/270000.html";
+
+    private final FakeStore store = new FakeStore();
+
+    @Test
+    public void freshCachedChapterSkipsNetwork() throws IOException {
+        ChapterContent cached = chapter("快取", NEXT);
+        store.entries.put(URL, cached);
+
+        assertSame(cached, ChapterCachePolicy.load(URL, store, url -> {
+            throw new AssertionError("Should not fetch " + url);
+        }));
+    }
+
+    @Test
+    public void missingChapterIsFetchedAndStored() throws IOException {
+        ChapterContent fetched = chapter("網路", NEXT);
+
+        assertSame(fetched, ChapterCachePolicy.load(URL, store, url -> fetched));
+        assertSame(fetched, store.entries.get(URL));
+    }
+
+    @Test
+    public void expiredOrLatestChapterIsRefetched() throws IOException {
+        ChapterContent fetched = chapter("新版", NEXT);
+
+        store.entries.put(URL, chapter("舊版", NEXT));
+        store.expired.add(URL);
+        assertSame(fetched, ChapterCachePolicy.load(URL, store, url -> fetched));
+        assertSame(fetched, store.entries.get(URL));
+
+        // 快取時還是最新一章，沒有下一章連結
+        store.expired.clear();
+        store.entries.put(URL, chapter("最新一章", null));
+        assertSame(fetched, ChapterCachePolicy.load(URL, store, url -> fetched));
+    }
+
+    @Test
+    public void networkFailureFallsBackToStaleCopy() throws IOException {
+        ChapterContent cached = chapter("舊版", NEXT);
+        store.entries.put(URL, cached);
+        store.expired.add(URL);
+
+        assertSame(cached, ChapterCachePolicy.load(URL, store, url -> {
+            throw new IOException("offline");
+        }));
+        assertSame(cached, store.entries.get(URL));
+    }
+
+    @Test
+    public void networkFailureWithoutCacheIsThrown() {
+        try {
+            ChapterCachePolicy.load(URL, store, url -> {
+                throw new IOException("offline");
+            });
+            fail("Expected IOException");
+        } catch (IOException e) {
+            assertEquals("offline", e.getMessage());
+        }
+    }
+
+    @Test
+    public void emptyResultIsNotStored() throws IOException {
+        ChapterContent empty = new ChapterContent();
+
+        assertSame(empty, ChapterCachePolicy.load(URL, store, url -> empty));
+        assertNull(store.entries.get(URL));
+
+        ChapterContent cached = chapter("舊版", null);
+        store.entries.put(URL, cached);
+        assertSame(cached, ChapterCachePolicy.load(URL, store, url -> empty));
+        assertSame(cached, store.entries.get(URL));
+    }
+
+    @Test
+    public void expiresAfterMaxAge() {
+        long now = 1_000_000_000_000L;
+        assertTrue(ChapterCachePolicy.isExpired(-1, now));
+        assertFalse(ChapterCachePolicy.isExpired(now, now));
+        assertFalse(ChapterCachePolicy.isExpired(now - ChapterCachePolicy.MAX_AGE_MILLIS, now));
+        assertTrue(ChapterCachePolicy.isExpired(now - ChapterCachePolicy.MAX_AGE_MILLIS - 1, now));
+        assertEquals(Endpoint.CHAPTER.getMaxAgeSeconds() * 1000, ChapterCachePolicy.MAX_AGE_MILLIS);
+    }
+
+    @Test
+    public void entryMustFitBothCaps() {
+        long budget = 32L * 1024 * 1024;
+        assertTrue(ChapterCachePolicy.accepts(ChapterCachePolicy.MAX_ENTRY_BYTES, budget));
+        assertFalse(ChapterCachePolicy.accepts(ChapterCachePolicy.MAX_ENTRY_BYTES + 1, budget));
+        assertTrue(ChapterCachePolicy.accepts(1000, 1000));
+        assertFalse(ChapterCachePolicy.accepts(1001, 1000));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedUntilWithinBudget() {
+        // 按最久未訪問排序：總共 100，預算 60，需刪除前兩個 (30 + 20)
+        assertEquals(2, ChapterCachePolicy.evictionCount(Arrays.asList(30L, 20L, 40L, 10L), 100, 60));
+        assertEquals(1, ChapterCachePolicy.evictionCount(Arrays.asList(40L, 20L, 40L), 100, 60));
+        assertEquals(0, ChapterCachePolicy.evictionCount(Arrays.asList(30L, 30L), 60, 60));
+        // 總大小與列表不符時最多刪除全部
+        assertEquals(2, ChapterCachePolicy.evictionCount(Arrays.asList(10L, 10L), 100, 60));
+        assertEquals(0, ChapterCachePolicy.evictionCount(Collections.<Long>emptyList(), 100, 60));
+    }
+
+    private static ChapterContent chapter(String text, String nextUrl) {
+        ChapterContent content = new ChapterContent();
+        content.addText(text, 0, text.length());
+        content.setNextChapterUrl(nextUrl);
+        return content;
+    }
+
+    private static class FakeStore implements ChapterCachePolicy.Store {
+        final Map<String, ChapterContent> entries = new HashMap<>();
+        final Set<String> expired = new HashSet<>();
+
+        @Override
+        public ChapterContent get(String chapterUrl) {
+            return entries.get(chapterUrl);
+        }
+
+        @Override
+        public boolean isExpired(String chapterUrl) {
+            return !entries.containsKey(chapterUrl) || expired.contains(chapterUrl);
+        }
+
+        @Override
+        public void put(String chapterUrl, ChapterContent content) {
+            entries.put(chapterUrl, content);
+            expired.remove(chapterUrl);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.linovelib.reader.api;
+
+import com.linovelib.reader.fixture.FixtureServer;
+import com.linovelib.reader.parser.ChapterPage;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 並行分頁抓取 (按 _n 猜測) 與逐頁抓取的結果必須一致
+ * LinovelibAPI 是單例，只能初始化一次，其他測試不應在此之前調用 getInstance()
+ */
+public class ChapterPaginationTest {
+    @ClassRule
+    public static TemporaryFolder folder = new TemporaryFolder();
+
+    private static FixtureServer server;
+    private static LinovelibAPI api;
+
+    @BeforeClass
+    public static void startServer() throws IOException {
+        // 與猜測一致：100 → 100_2 → … → 100_5 → 下一章
+        chain("100", "100", "100_2", "100_3", "100_4", "100_5", "101");
+        // 與猜測不符：200_2 之後跳到 200_5，猜測的 200_3 存在但不在鏈上
+        chain("200", "200", "200_2", "200_5", "200_6", "201");
+        page("200", "200_3", "200_4");
+        // 最後一頁鏈到下一章，猜測的 300_3 存在但屬於舊版本
+        chain("300", "300", "300_2", "301");
+        page("300", "300_3", "300_4");
+        page("301", "301", null);
+
+        server = new FixtureServer(folder.getRoot(), 0);
+        LinovelibAPI.init(null, null, Collections.singletonList(server.getBaseUrl()));
+        api = LinovelibAPI.getInstance();
+    }
+
+    @AfterClass
+    public static void stopServer() throws IOException {
+        api.setParallelPagination(true);
+        server.close();
+    }
+
+    @Test
+    public void guessesMatchRealChain() throws IOException {
+        assertSameAsSequential("100", "100", "100_2", "100_3", "100_4", "100_5");
+    }
+
+    @Test
+    public void chainDivergesFromGuesses() throws IOException {
+        assertSameAsSequential("200", "200", "200_2", "200_5", "200_6");
+    }
+
+    @Test
+    public void lastPageLinksToNextChapter() throws IOException {
+        assertSameAsSequential("300", "300", "300_2");
+    }
+
+    private static void assertSameAsSequential(String chapterId, String... expectedPages) throws IOException {
+        String url = server.getBaseUrl() + "/novel/1/" + chapterId + ".html";
+        List<String> expected = new ArrayList<>();
+        for (String name : expectedPages) {
+            expected.add(name);
+        }
+
+        api.setParallelPagination(false);
+        List<String> sequential = pageNames(api.fetchChapterPages(url));
+        api.setParallelPagination(true);
+        List<String> parallel = pageNames(api.fetchChapterPages(url));
+
+        assertEquals(expected, sequential);
+        assertEquals(sequential, parallel);
+    }
+
+    /**
+     * 各頁的名稱 (取自正文標記)，同時檢查頁序和 URL 一致
+     */
+    private static List<String> pageNames(List<ChapterPage> pages) {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < pages.size(); i++) {
+            ChapterPage page = pages.get(i);
+            assertEquals(i, page.getIndex());
+            String name = page.getDocument().getElementById("acontent").text();
+            assertTrue(page.getUrl(), page.getUrl().endsWith("/novel/1/" + name + ".html"));
+            names.add(name);
+        }
+        return names;
+    }
+
+    /**
+     * 依次寫入鏈上各頁，每頁的 url_next 指向下一個名稱，最後一個名稱只作為鏈接不寫入
+     */
+    private static void chain(String chapterId, String... names) throws IOException {
+        List<String> list = Arrays.asList(names);
+        for (int i = 0; i < list.size() - 1; i++) {
+            write(chapterId, list.get(i), list.get(i + 1));
+        }
+    }
+
+    /**
+     * 寫入不在鏈上的頁面 (url_next 指向 next，null 表示沒有下一頁)
+     */
+    private static void page(String chapterId, String name, String next) throws IOException {
+        write(chapterId, name, next);
+    }
+
+    private static void write(String chapterId, String name, String next) throws IOException {
+        String html = "<html><head><title>" + name + "</title></head><body>"
+                + "<h1>第 " + chapterId + " 章</h1>"
+                + "<div id=\"acontent\"><p>" + name + "</p></div>"
+                + "<script>var ReadParams={url_previous:'/novel/1/catalog',url_next:'"
+                + (next != null ? "/novel/1/" + next + ".html" : "") + "',articleid:'1',chapterid:'" + chapterId + "'}</script>"
+                + "</body></html>";
+        File file = new File(folder.getRoot(), "novel/1/" + name + ".html");
+        file.getParentFile().mkdirs();
+        try (OutputStream out = new FileOutputStream(file)) {
+            out.write(html.getBytes("UTF-8"));
+        }
+    }
+}
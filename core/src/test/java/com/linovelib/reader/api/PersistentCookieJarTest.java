@@ -0,0 +1,221 @@
+package com.linovelib.reader.api;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import okhttp3.Cookie;
+import okhttp3.HttpUrl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PersistentCookieJarTest {
+    private static final int THREADS = 8;
+    private static final int OPS_PER_THREAD = 200_000;
+    private static final int HOSTS = 32;
+    private static final int NAMES = 4;
+    // 每 10 次操作有 1 次寫入，接近實際請求中 Set-Cookie 的比例
+    private static final int WRITE_EVERY = 10;
+    // 寬鬆的下限，只用來發現退回全局鎖之類的數量級退化
+    private static final double MIN_OPS_PER_SECOND = 200_000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final List<PersistentCookieJar> jars = new ArrayList<>();
+
+    /**
+     * 在臨時目錄刪除前關閉，避免延遲寫回落到已刪除的目錄
+     */
+    @After
+    public void closeJars() {
+        for (PersistentCookieJar jar : jars) {
+            jar.close();
+        }
+    }
+
+    @Test
+    public void parallelLoadAndSave() throws Exception {
+        File file = new File(folder.getRoot(), "cookies.txt");
+        PersistentCookieJar jar = open(file);
+        HttpUrl[] urls = new HttpUrl[HOSTS];
+        for (int i = 0; i < HOSTS; i++) {
+            urls[i] = HttpUrl.get("https://h" + i + ".example.com/novel/1.html");
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    Random random = new Random(thread);
+                    for (int i = 0; i < OPS_PER_THREAD; i++) {
+                        HttpUrl url = urls[random.nextInt(HOSTS)];
+                        if (i % WRITE_EVERY == 0) {
+                            Cookie cookie = cookie(url, "c" + random.nextInt(NAMES), thread + "-" + i, 60_000);
+                            jar.saveFromResponse(url, Collections.singletonList(cookie));
+                        } else {
+                            checkSnapshot(url, jar.loadForRequest(url));
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        assertTrue("Timed out", done.await(60, TimeUnit.SECONDS));
+        long elapsed = System.nanoTime() - begin;
+        pool.shutdown();
+        assertNull("Worker failed: " + failure.get(), failure.get());
+
+        double opsPerSecond = (double) THREADS * OPS_PER_THREAD / elapsed * TimeUnit.SECONDS.toNanos(1);
+        System.out.println(String.format(Locale.US, "PersistentCookieJar: %.0f ops/s with %d threads",
+                opsPerSecond, THREADS));
+        assertTrue("Throughput " + (long) opsPerSecond + " ops/s below " + (long) MIN_OPS_PER_SECOND,
+                opsPerSecond >= MIN_OPS_PER_SECOND);
+
+        // 寫回磁碟後重新載入，內容應與內存中一致
+        jar.flush();
+        PersistentCookieJar restored = open(file);
+        restored.awaitLoaded();
+        for (HttpUrl url : urls) {
+            List<Cookie> cookies = jar.loadForRequest(url);
+            checkSnapshot(url, cookies);
+            assertEquals(url.host(), cookies, restored.loadForRequest(url));
+        }
+    }
+
+    @Test
+    public void newCookieReplacesSameNameAndExpiredOneDeletes() {
+        PersistentCookieJar jar = open(null);
+        HttpUrl url = HttpUrl.get("https://tw.linovelib.com/");
+
+        jar.saveFromResponse(url, Collections.singletonList(cookie(url, "cf_clearance", "a", 60_000)));
+        jar.saveFromResponse(url, Collections.singletonList(cookie(url, "cf_clearance", "b", 60_000)));
+        List<Cookie> cookies = jar.loadForRequest(url);
+        assertEquals(1, cookies.size());
+        assertEquals("b", cookies.get(0).value());
+
+        jar.saveFromResponse(url, Collections.singletonList(cookie(url, "cf_clearance", "", -60_000)));
+        assertTrue(jar.loadForRequest(url).isEmpty());
+    }
+
+    @Test
+    public void expiredCookiesAreNotSentOrPersisted() throws Exception {
+        File file = new File(folder.getRoot(), "cookies.txt");
+        PersistentCookieJar jar = open(file);
+        HttpUrl url = HttpUrl.get("https://tw.linovelib.com/");
+
+        jar.saveFromResponse(url, Arrays.asList(
+                cookie(url, "short", "1", 50),
+                cookie(url, "long", "2", 60_000)));
+        Thread.sleep(100);
+
+        List<Cookie> cookies = jar.loadForRequest(url);
+        assertEquals(1, cookies.size());
+        assertEquals("long", cookies.get(0).name());
+
+        jar.flush();
+        PersistentCookieJar restored = open(file);
+        restored.awaitLoaded();
+        assertEquals(cookies, restored.loadForRequest(url));
+    }
+
+    @Test
+    public void closeWritesPendingCookies() {
+        File file = new File(folder.getRoot(), "cookies.txt");
+        HttpUrl url = HttpUrl.get("https://tw.linovelib.com/");
+        PersistentCookieJar jar = open(file);
+        jar.saveFromResponse(url, Collections.singletonList(cookie(url, "cf_clearance", "a", 60_000)));
+        // 延遲寫回尚未執行
+        jar.close();
+
+        PersistentCookieJar restored = open(file);
+        restored.awaitLoaded();
+        assertEquals(jar.loadForRequest(url), restored.loadForRequest(url));
+    }
+
+    @Test
+    public void cookieReceivedWhileLoadingIsKept() {
+        File file = new File(folder.getRoot(), "cookies.txt");
+        HttpUrl url = HttpUrl.get("https://tw.linovelib.com/");
+        PersistentCookieJar jar = open(file);
+        jar.saveFromResponse(url, Arrays.asList(
+                cookie(url, "cf_clearance", "old", 60_000),
+                cookie(url, "session", "1", 60_000)));
+        jar.flush();
+
+        // 無論載入先完成還是後完成，新收到的同名 Cookie 都不應被文件中的舊值覆蓋
+        PersistentCookieJar restored = open(file);
+        restored.saveFromResponse(url, Collections.singletonList(cookie(url, "cf_clearance", "new", 60_000)));
+        restored.awaitLoaded();
+        List<Cookie> cookies = restored.loadForRequest(url);
+        assertEquals(2, cookies.size());
+        for (Cookie cookie : cookies) {
+            if (cookie.name().equals("cf_clearance")) {
+                assertEquals("new", cookie.value());
+            }
+        }
+    }
+
+    private PersistentCookieJar open(File file) {
+        PersistentCookieJar jar = new PersistentCookieJar(file);
+        jars.add(jar);
+        return jar;
+    }
+
+    private static Cookie cookie(HttpUrl url, String name, String value, long ttlMs) {
+        return new Cookie.Builder()
+                .name(name)
+                .value(value)
+                .domain(url.host())
+                .path("/")
+                .expiresAt(System.currentTimeMillis() + ttlMs)
+                .build();
+    }
+
+    /**
+     * 讀到的必定是某次寫入後的完整快照：都匹配此 URL，且同名 Cookie 只有一個
+     */
+    private static void checkSnapshot(HttpUrl url, List<Cookie> cookies) {
+        Set<String> names = new HashSet<>();
+        for (Cookie cookie : cookies) {
+            if (!cookie.matches(url)) {
+                throw new AssertionError("Cookie " + cookie + " does not match " + url);
+            }
+            if (!names.add(cookie.name())) {
+                throw new AssertionError("Duplicate cookie " + cookie.name() + " in " + cookies);
+            }
+        }
+        if (cookies.size() > NAMES) {
+            throw new AssertionError("Too many cookies: " + cookies);
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.linovelib.reader.api;
+
+import com.linovelib.reader.fixture.FixtureServer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Timeout;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ResilientCallerTest {
+    private static final String HOST = "127.0.0.1";
+    private static final String PAGE = "<html><body><div id=\"acontent\">正文</div></body></html>";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final Script script = new Script();
+    private FixtureServer server;
+    private OkHttpClient client;
+    private String url;
+
+    @Before
+    public void setUp() throws Exception {
+        File page = new File(folder.getRoot(), "novel/1/2.html");
+        assertTrue(page.getParentFile().mkdirs());
+        try (OutputStream out = new FileOutputStream(page)) {
+            out.write(PAGE.getBytes("UTF-8"));
+        }
+        server = new FixtureServer(folder.getRoot(), 0);
+        url = server.getBaseUrl() + "/novel/1/2.html";
+        client = new OkHttpClient.Builder()
+                .addNetworkInterceptor(RequestScheduler.getInstance().networkInterceptor())
+                .addNetworkInterceptor(script)
+                .build();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.close();
+    }
+
+    @Test
+    public void retriesUnavailableResponse() throws Exception {
+        ResilientCaller caller = new ResilientCaller(client);
+        script.add(Action.UNAVAILABLE);
+        try (Response response = caller.execute(request())) {
+            assertEquals(200, response.code());
+            assertEquals(PAGE, response.body().string());
+        }
+        assertEquals(1, caller.getRetryCount());
+        awaitIdle();
+    }
+
+    @Test
+    public void hedgeWinsAndSlowPrimaryIsCanceled() throws Exception {
+        ResilientCaller caller = new ResilientCaller(client);
+        primeLatency(caller, 10);
+        script.add(Action.SLOW);
+        script.add(Action.PASS);
+
+        long start = System.nanoTime();
+        try (Response response = caller.execute(request())) {
+            assertEquals(200, response.code());
+            assertEquals(PAGE, response.body().string());
+        }
+        assertTrue("Hedge did not shortcut the slow primary",
+                System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(Action.SLOW_MILLIS));
+        assertEquals(1, caller.getHedgeCount());
+        assertEquals(1, caller.getHedgeWinCount());
+        // 被取消的主請求在延遲結束後失敗並歸還名額
+        awaitIdle();
+    }
+
+    @Test
+    public void retryableHedgeResponseDoesNotBeatPrimary() throws Exception {
+        ResilientCaller caller = new ResilientCaller(client);
+        primeLatency(caller, 10);
+        script.add(Action.SLOWER_THAN_HEDGE);
+        script.add(Action.UNAVAILABLE);
+
+        try (Response response = caller.execute(request())) {
+            assertEquals(200, response.code());
+        }
+        assertEquals(1, caller.getHedgeCount());
+        assertEquals(0, caller.getHedgeWinCount());
+        assertEquals(0, caller.getRetryCount());
+        awaitIdle();
+    }
+
+    @Test
+    public void responseArrivingAfterInterruptIsClosed() throws Exception {
+        CountDownLatch arrived = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        // 回應已返回但尚未交給競速 (例如線程被搶佔) 時，等待方被中斷
+        Call.Factory delayed = request -> new DelayedCall(client.newCall(request), arrived, proceed);
+        ResilientCaller caller = new ResilientCaller(delayed);
+        // 對沖門檻遠大於測試時長，競速中只有主請求
+        primeLatency(caller, 60_000);
+
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread waiter = new Thread(() -> {
+            try {
+                caller.execute(request()).close();
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        waiter.start();
+        assertTrue(arrived.await(10, TimeUnit.SECONDS));
+        assertEquals(1, RequestScheduler.getInstance().activeRequests(HOST));
+
+        waiter.interrupt();
+        waiter.join(10_000);
+        assertTrue("Waiter failed with " + failure.get(), failure.get() instanceof InterruptedIOException);
+
+        proceed.countDown();
+        awaitIdle();
+    }
+
+    private Request request() {
+        return new Request.Builder().url(url).build();
+    }
+
+    private static void primeLatency(ResilientCaller caller, long millis) {
+        for (int i = 0; i < 20; i++) {
+            caller.getLatency(Endpoint.CHAPTER).record(millis);
+        }
+    }
+
+    /**
+     * 等待全部回應關閉、名額歸還
+     */
+    private static void awaitIdle() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (RequestScheduler.getInstance().activeRequests(HOST) != 0) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Host slot leaked: "
+                        + RequestScheduler.getInstance().activeRequests(HOST) + " still active");
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    private enum Action {
+        PASS,
+        /** 遠慢於對沖門檻 */
+        SLOW,
+        /** 比對沖門檻稍慢，對沖請求先返回 */
+        SLOWER_THAN_HEDGE,
+        UNAVAILABLE;
+
+        static final long SLOW_MILLIS = 3000;
+        static final long SLOWER_THAN_HEDGE_MILLIS = 800;
+    }
+
+    /**
+     * 按請求到達順序執行預定的動作，之後的請求正常轉發
+     */
+    private static class Script implements Interceptor {
+        private final ConcurrentLinkedQueue<Action> actions = new ConcurrentLinkedQueue<>();
+
+        void add(Action action) {
+            actions.add(action);
+        }
+
+        @Override
+        public Response intercept(Chain chain) throws IOException {
+            Action action = actions.poll();
+            if (action == Action.UNAVAILABLE) {
+                // 網路攔截器必須調用 proceed，丟棄真實回應後改寫為 503
+                Response response = chain.proceed(chain.request());
+                response.close();
+                return response.newBuilder()
+                        .code(503)
+                        .message("Service Unavailable")
+                        .body(ResponseBody.create("", null))
+                        .build();
+            }
+            if (action == Action.SLOW || action == Action.SLOWER_THAN_HEDGE) {
+                try {
+                    Thread.sleep(action == Action.SLOW ? Action.SLOW_MILLIS : Action.SLOWER_THAN_HEDGE_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+            }
+            return chain.proceed(chain.request());
+        }
+    }
+
+    /**
+     * execute() 取得回應後先通知 arrived，再等 proceed 才返回
+     */
+    private static class DelayedCall implements Call {
+        private final Call delegate;
+        private final CountDownLatch arrived;
+        private final CountDownLatch proceed;
+
+        DelayedCall(Call delegate, CountDownLatch arrived, CountDownLatch proceed) {
+            this.delegate = delegate;
+            this.arrived = arrived;
+            this.proceed = proceed;
+        }
+
+        @Override
+        public Response execute() throws IOException {
+            Response response = delegate.execute();
+            arrived.countDown();
+            try {
+                proceed.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return response;
+        }
+
+        @Override
+        public Request request() {
+            return delegate.request();
+        }
+
+        @Override
+        public void enqueue(Callback callback) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void cancel() {
+            delegate.cancel();
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return delegate.isExecuted();
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return delegate.isCanceled();
+        }
+
+        @Override
+        public Timeout timeout() {
+            return delegate.timeout();
+        }
+
+        @Override
+        public Call clone() {
+            return new DelayedCall(delegate.clone(), arrived, proceed);
+        }
+    }
+}
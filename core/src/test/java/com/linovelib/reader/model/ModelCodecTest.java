@@ -0,0 +1,299 @@
+package com.linovelib.reader.model;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ModelCodecTest {
+    // 含代理對 (emoji 和擴展 B 區漢字) 的文本
+    private static final String SURROGATES = "輕小說 📚 𠮷野家 😀";
+    private static final int FUZZ_ROUNDS = 20_000;
+
+    @Test
+    public void chapterRoundTrip() throws IOException {
+        ChapterContent chapter = new ChapterContent("269999", "第一章 " + SURROGATES, null);
+        chapter.setPrevChapterUrl("https://tw.linovelib.com/novel/4649/269998.html");
+        chapter.setNextChapterUrl(null);
+        chapter.addText("　　他說「你好」。", 0, 9);
+        chapter.addImage("https://img.linovelib.com/a.jpg", 640, 480);
+        chapter.addText(SURROGATES, 0, SURROGATES.length());
+        chapter.addText("", 0, 0);
+        chapter.addImage("https://img.linovelib.com/b.jpg", 0, 0);
+
+        ChapterContent decoded = ModelCodec.decodeChapter(ModelCodec.encodeChapter(chapter));
+        assertChapterEquals(chapter, decoded);
+        assertEquals(chapter.getContent(), decoded.getContent());
+    }
+
+    @Test
+    public void chapterWithoutItemsKeepsExplicitContent() throws IOException {
+        ChapterContent chapter = new ChapterContent(null, null, "網站正在進行驗證 " + SURROGATES);
+        ChapterContent decoded = ModelCodec.decodeChapter(ModelCodec.encodeChapter(chapter));
+        assertChapterEquals(chapter, decoded);
+        assertEquals(chapter.getContent(), decoded.getContent());
+
+        ChapterContent empty = ModelCodec.decodeChapter(ModelCodec.encodeChapter(new ChapterContent()));
+        assertNull(empty.getTitle());
+        assertEquals(0, empty.getItemCount());
+        assertEquals("", empty.getContent());
+    }
+
+    @Test
+    public void chapterKeepsUnpairedSurrogatesInText() throws IOException {
+        // 正文以 UTF-16 整塊存放，不成對的代理字元也原樣保留
+        String broken = "a\uD83Db\uDE00c";
+        ChapterContent chapter = new ChapterContent();
+        chapter.addText(broken, 0, broken.length());
+        assertEquals(broken, ModelCodec.decodeChapter(ModelCodec.encodeChapter(chapter)).getItemText(0));
+    }
+
+    @Test
+    public void volumesRoundTrip() throws IOException {
+        Volume first = new Volume("1", "第一卷 " + SURROGATES);
+        first.setVolumeUrl("https://tw.linovelib.com/novel/4649/vol_1.html");
+        for (int i = 0; i < 3; i++) {
+            Chapter chapter = new Chapter("2699" + i, "第 " + i + " 話", "/novel/4649/2699" + i + ".html");
+            chapter.setVolumeId("1");
+            chapter.setRead(i == 1);
+            first.addChapter(chapter);
+        }
+        first.addChapter(new Chapter(null, null, null));
+        Volume empty = new Volume(null, "");
+        List<Volume> volumes = Arrays.asList(first, empty);
+
+        List<Volume> decoded = ModelCodec.decodeVolumes(ModelCodec.encodeVolumes(volumes));
+        assertEquals(volumes.size(), decoded.size());
+        for (int v = 0; v < volumes.size(); v++) {
+            Volume expected = volumes.get(v);
+            Volume actual = decoded.get(v);
+            assertEquals(expected.getVolumeId(), actual.getVolumeId());
+            assertEquals(expected.getVolumeName(), actual.getVolumeName());
+            assertEquals(expected.getVolumeUrl(), actual.getVolumeUrl());
+            assertEquals(expected.getChapters().size(), actual.getChapters().size());
+            for (int c = 0; c < expected.getChapters().size(); c++) {
+                Chapter expectedChapter = expected.getChapters().get(c);
+                Chapter actualChapter = actual.getChapters().get(c);
+                assertEquals(expectedChapter.getChapterId(), actualChapter.getChapterId());
+                assertEquals(expectedChapter.getChapterTitle(), actualChapter.getChapterTitle());
+                assertEquals(expectedChapter.getChapterUrl(), actualChapter.getChapterUrl());
+                assertEquals(expectedChapter.getVolumeId(), actualChapter.getVolumeId());
+                assertEquals(expectedChapter.isRead(), actualChapter.isRead());
+            }
+        }
+
+        assertTrue(ModelCodec.decodeVolumes(ModelCodec.encodeVolumes(Collections.<Volume>emptyList())).isEmpty());
+    }
+
+    @Test
+    public void novelRoundTrip() throws IOException {
+        Novel novel = new Novel("4649", "關於我轉生 " + SURROGATES);
+        novel.setAuthor("作者");
+        novel.setIllustrator(null);
+        novel.setTranslator("");
+        novel.setCoverUrl("https://img.linovelib.com/cover/4649.jpg");
+        novel.setDescription("第一行\n第二行 " + SURROGATES);
+        novel.setTags(Arrays.asList("奇幻", "", SURROGATES));
+        novel.setRating(8.75f);
+        novel.setStatus("連載中");
+        novel.setFavoriteCount(123456);
+        assertNovelEquals(novel, ModelCodec.decodeNovel(ModelCodec.encodeNovel(novel)));
+
+        // 空值：null 與空的標籤列表需區分，負數和 NaN 原樣保留
+        Novel blank = new Novel();
+        blank.setRating(Float.NaN);
+        blank.setFavoriteCount(-1);
+        assertNovelEquals(blank, ModelCodec.decodeNovel(ModelCodec.encodeNovel(blank)));
+        blank.setTags(new ArrayList<String>());
+        assertNovelEquals(blank, ModelCodec.decodeNovel(ModelCodec.encodeNovel(blank)));
+    }
+
+    @Test
+    public void newerFormatVersionIsRejected() {
+        byte[] chapter = ModelCodec.encodeChapter(sampleChapter());
+        byte[] volumes = ModelCodec.encodeVolumes(Collections.singletonList(new Volume("1", "卷")));
+        byte[] novel = ModelCodec.encodeNovel(new Novel("1", "書"));
+        for (byte[] data : Arrays.asList(chapter, volumes, novel)) {
+            assertEquals(ModelCodec.FORMAT_VERSION, data[3]);
+            data[3] = (byte) (ModelCodec.FORMAT_VERSION + 1);
+        }
+        assertRejected(chapter, Kind.CHAPTER);
+        assertRejected(volumes, Kind.VOLUMES);
+        assertRejected(novel, Kind.NOVEL);
+    }
+
+    @Test
+    public void wrongKindIsRejected() {
+        assertRejected(ModelCodec.encodeNovel(new Novel("1", "書")), Kind.CHAPTER);
+        assertRejected(ModelCodec.encodeChapter(sampleChapter()), Kind.VOLUMES);
+        assertRejected(new byte[0], Kind.NOVEL);
+    }
+
+    @Test
+    public void truncatedInputThrowsIOException() {
+        for (Kind kind : Kind.values()) {
+            byte[] data = kind.sample();
+            for (int length = 0; length < data.length; length++) {
+                assertRejected(Arrays.copyOf(data, length), kind);
+            }
+        }
+    }
+
+    @Test
+    public void fuzzedInputNeverThrowsRuntimeException() {
+        Random random = new Random(42);
+        for (Kind kind : Kind.values()) {
+            byte[] sample = kind.sample();
+            for (int round = 0; round < FUZZ_ROUNDS; round++) {
+                byte[] data = mutate(sample, random);
+                try {
+                    kind.decode(data);
+                } catch (IOException expected) {
+                    // 損壞的數據只應以 IOException 報告
+                } catch (RuntimeException e) {
+                    throw new AssertionError(kind + " decode of " + Arrays.toString(data) + " threw " + e, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 保留頭部 (否則大多在版本檢查就被拒絕)，隨機翻轉、覆寫、刪除或插入位元組
+     */
+    private static byte[] mutate(byte[] sample, Random random) {
+        byte[] data = sample.clone();
+        int edits = 1 + random.nextInt(4);
+        for (int i = 0; i < edits; i++) {
+            int position = 4 + random.nextInt(Math.max(1, data.length - 4));
+            switch (random.nextInt(4)) {
+                case 0:
+                    if (position < data.length) {
+                        data[position] ^= 1 << random.nextInt(8);
+                    }
+                    break;
+                case 1:
+                    if (position < data.length) {
+                        // 常見的邊界值：0、最大單位元組變長整數和帶延續位的位元組
+                        byte[] values = {0, 0x7f, (byte) 0x80, (byte) 0xff, (byte) random.nextInt()};
+                        data[position] = values[random.nextInt(values.length)];
+                    }
+                    break;
+                case 2:
+                    data = Arrays.copyOf(data, Math.min(data.length, position));
+                    break;
+                default:
+                    byte[] longer = new byte[data.length + 1];
+                    int at = Math.min(position, data.length);
+                    System.arraycopy(data, 0, longer, 0, at);
+                    longer[at] = (byte) random.nextInt();
+                    System.arraycopy(data, at, longer, at + 1, data.length - at);
+                    data = longer;
+                    break;
+            }
+        }
+        return data;
+    }
+
+    private static void assertRejected(byte[] data, Kind kind) {
+        try {
+            kind.decode(data);
+            fail(kind + " decode accepted " + Arrays.toString(data));
+        } catch (IOException expected) {
+            // 預期
+        }
+    }
+
+    private static ChapterContent sampleChapter() {
+        ChapterContent chapter = new ChapterContent("269999", "第一章", null);
+        chapter.setNextChapterUrl("/novel/4649/270000.html");
+        chapter.addText("　　正文" + SURROGATES, 0, 4 + SURROGATES.length());
+        chapter.addImage("https://img.linovelib.com/a.jpg", 640, 480);
+        chapter.addText("尾", 0, 1);
+        return chapter;
+    }
+
+    private static void assertChapterEquals(ChapterContent expected, ChapterContent actual) {
+        assertEquals(expected.getChapterId(), actual.getChapterId());
+        assertEquals(expected.getTitle(), actual.getTitle());
+        assertEquals(expected.getPrevChapterUrl(), actual.getPrevChapterUrl());
+        assertEquals(expected.getNextChapterUrl(), actual.getNextChapterUrl());
+        assertEquals(expected.getItemCount(), actual.getItemCount());
+        for (int i = 0; i < expected.getItemCount(); i++) {
+            assertEquals(expected.getItemType(i), actual.getItemType(i));
+            assertEquals(expected.getItemText(i), actual.getItemText(i));
+            assertArrayEquals(new int[] {expected.getItemWidth(i), expected.getItemHeight(i)},
+                    new int[] {actual.getItemWidth(i), actual.getItemHeight(i)});
+        }
+    }
+
+    private static void assertNovelEquals(Novel expected, Novel actual) {
+        assertEquals(expected.getNovelId(), actual.getNovelId());
+        assertEquals(expected.getTitle(), actual.getTitle());
+        assertEquals(expected.getAuthor(), actual.getAuthor());
+        assertEquals(expected.getIllustrator(), actual.getIllustrator());
+        assertEquals(expected.getTranslator(), actual.getTranslator());
+        assertEquals(expected.getCoverUrl(), actual.getCoverUrl());
+        assertEquals(expected.getDescription(), actual.getDescription());
+        assertEquals(expected.getTags(), actual.getTags());
+        assertEquals(Float.floatToIntBits(expected.getRating()), Float.floatToIntBits(actual.getRating()));
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getFavoriteCount(), actual.getFavoriteCount());
+    }
+
+    private enum Kind {
+        CHAPTER {
+            @Override
+            byte[] sample() {
+                return ModelCodec.encodeChapter(sampleChapter());
+            }
+
+            @Override
+            Object decode(byte[] data) throws IOException {
+                return ModelCodec.decodeChapter(data);
+            }
+        },
+        VOLUMES {
+            @Override
+            byte[] sample() {
+                Volume volume = new Volume("1", "第一卷");
+                volume.addChapter(new Chapter("269999", "第一章", "/novel/4649/269999.html"));
+                volume.addChapter(new Chapter("270000", SURROGATES, null));
+                return ModelCodec.encodeVolumes(Arrays.asList(volume, new Volume("2", null)));
+            }
+
+            @Override
+            Object decode(byte[] data) throws IOException {
+                return ModelCodec.decodeVolumes(data);
+            }
+        },
+        NOVEL {
+            @Override
+            byte[] sample() {
+                Novel novel = new Novel("4649", "書名");
+                novel.setTags(Arrays.asList("奇幻", SURROGATES));
+                novel.setRating(9.5f);
+                novel.setFavoriteCount(300);
+                return ModelCodec.encodeNovel(novel);
+            }
+
+            @Override
+            Object decode(byte[] data) throws IOException {
+                return ModelCodec.decodeNovel(data);
+            }
+        };
+
+        abstract byte[] sample();
+
+        abstract Object decode(byte[] data) throws IOException;
+    }
+}
@@ -0,0 +1,90 @@
+package com.linovelib.reader.parser;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+
+public class ContentLocatorTest {
+    private static final String HOST = "https://tw.linovelib.com";
+
+    @Test
+    public void prefersAcontentOverEnclosingWrapper() {
+        Document doc = page("/novel/1/1.html",
+                "<div class=\"content\"><div class=\"nav\">nav</div><div id=\"acontent\"><p>text</p></div></div>");
+        Element content = new ContentLocator().locate(doc, true, true).getContent();
+        assertNotNull(content);
+        assertEquals("acontent", content.id());
+    }
+
+    @Test
+    public void learnedFallbackDoesNotHideNestedAcontent() {
+        ContentLocator locator = new ContentLocator();
+        // 同一主機先出現一個沒有 #acontent 的頁面 (錯誤頁或版面變體)
+        Document variant = page("/novel/1/1.html", "<div class=\"content\"><p>only wrapper</p></div>");
+        assertEquals("content", locator.locate(variant, true, true).getContent().className());
+
+        Document doc = page("/novel/1/2.html",
+                "<div class=\"content\"><div class=\"ads\">ad</div><div id=\"acontent\"><p>text</p></div></div>");
+        Element content = locator.locate(doc, true, true).getContent();
+        assertSame(doc.selectFirst("#acontent"), content);
+    }
+
+    @Test
+    public void sameElementMatchingSeveralCandidatesIsFound() {
+        ContentLocator locator = new ContentLocator();
+        locator.locate(page("/novel/1/1.html", "<div class=\"content\"><p>a</p></div>"), false, false);
+
+        Document doc = page("/novel/1/2.html", "<div id=\"acontent\" class=\"content\"><p>b</p></div>");
+        assertSame(doc.selectFirst("#acontent"), locator.locate(doc, false, false).getContent());
+    }
+
+    @Test
+    public void settledLayoutStopsOnLearnedCandidateAndIsReverified() {
+        ContentLocator locator = new ContentLocator();
+        for (int i = 0; i < ContentLocator.SETTLE_PAGES; i++) {
+            locator.locate(page("/novel/1/" + i + ".html", "<div class=\"content\"><p>a</p></div>"), false, false);
+        }
+
+        // 版面改為 div.content 內嵌 #acontent：採用期間取學到的候選，最遲在下一次確認時改回 #acontent
+        int stale = 0;
+        Element content = null;
+        for (int i = 0; i < ContentLocator.VERIFY_EVERY; i++) {
+            Document doc = page("/novel/2/" + i + ".html",
+                    "<div class=\"content\"><div id=\"acontent\"><p>b</p></div></div>");
+            content = locator.locate(doc, false, false).getContent();
+            if (!"acontent".equals(content.id())) {
+                assertEquals("content", content.className());
+                stale++;
+            } else {
+                break;
+            }
+        }
+        assertEquals("acontent", content.id());
+        assertEquals(ContentLocator.VERIFY_EVERY - 1, stale);
+
+        // 確認後重新學習，之後的頁面都完整遍歷
+        Document doc = page("/novel/3/1.html", "<div class=\"content\"><div id=\"acontent\"><p>c</p></div></div>");
+        assertSame(doc.selectFirst("#acontent"), locator.locate(doc, false, false).getContent());
+    }
+
+    @Test
+    public void findsNavigationAroundContent() {
+        Document doc = page("/novel/1/1.html",
+                "<h1>Title</h1><a href=\"/novel/1/0.html\">上一章</a>"
+                        + "<div id=\"acontent\"><p>text</p></div>"
+                        + "<a href=\"/novel/1/2.html\">下一章</a>");
+        ContentLocator.Result result = new ContentLocator().locate(doc, true, true);
+        assertEquals("Title", result.getTitle().text());
+        assertEquals(HOST + "/novel/1/0.html", result.getPrevLink().absUrl("href"));
+        assertEquals(HOST + "/novel/1/2.html", result.getNextLink().absUrl("href"));
+    }
+
+    private static Document page(String path, String body) {
+        return Jsoup.parse("<html><body>" + body + "</body></html>", HOST + path);
+    }
+}
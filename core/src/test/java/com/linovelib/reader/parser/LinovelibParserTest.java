@@ -0,0 +1,86 @@
+package com.linovelib.reader.parser;
+
+import com.linovelib.reader.model.Chapter;
+import com.linovelib.reader.model.ChapterContent;
+import com.linovelib.reader.model.Volume;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class LinovelibParserTest {
+    private static final String HOST = "https://tw.linovelib.com";
+    private static final String CATALOG_URL = HOST + "/novel/4649/catalog";
+    // 測試在模組目錄下執行
+    private static final File CATALOG_FIXTURE = new File("../fixtures/novel/4649/catalog.html");
+
+    @Test
+    public void rubyAnnotationsAreDropped() {
+        ChapterContent content = chapter("<p><ruby>漢字<rp>(</rp><rt>かんじ</rt><rp>)</rp></ruby>を読む</p>");
+        assertEquals(1, content.getItemCount());
+        assertEquals("漢字を読む", content.getItemText(0));
+    }
+
+    @Test
+    public void whitespaceIsNormalisedLikeElementText() {
+        String html = "<p>  a \t b&nbsp;&nbsp;c​­d <span> e </span>\n f</p><p>　　縮排</p>";
+        ChapterContent content = chapter(html);
+        Document doc = Jsoup.parseBodyFragment(html);
+        assertEquals(2, content.getItemCount());
+        assertEquals(doc.select("p").get(0).text(), content.getItemText(0));
+        assertEquals("　　縮排", content.getItemText(1));
+    }
+
+    @Test
+    public void streamedCatalogMatchesDomCatalog() throws IOException {
+        String html = new String(Files.readAllBytes(CATALOG_FIXTURE.toPath()), StandardCharsets.UTF_8);
+        List<String> expected = describe(LinovelibParser.parseCatalog(Jsoup.parse(html, CATALOG_URL)));
+        assertEquals(3, expected.stream().filter(line -> line.startsWith("# ")).count());
+        assertEquals(expected, describe(LinovelibParser.readCatalog(new StringReader(html), CATALOG_URL, null)));
+    }
+
+    @Test
+    public void streamedCatalogWithNestedVolumeTitle() throws IOException {
+        String html = "<html><body><ul class=\"volume-chapters\">"
+                + "<li class=\"chapter-bar\"><h3 class=\"volume-title\">第一卷 <b>序章</b></h3></li>"
+                + "<li><a href=\"/novel/4649/269999.html\" class=\"chapter-li-a\"><span>第1章</span></a></li>"
+                + "<li class=\"chapter-bar\"><div class=\"volume-name\"><h3 class=\"volume-title\">第二卷</h3></div></li>"
+                + "<li><a href=\"/novel/4649/270007.html\" class=\"chapter-li-a\"><span>第1章</span></a></li>"
+                + "</ul></body></html>";
+        List<String> expected = describe(LinovelibParser.parseCatalog(Jsoup.parse(html, CATALOG_URL)));
+        assertEquals("# vol_1 第一卷 序章", expected.get(0));
+        assertEquals("# vol_2 第二卷", expected.get(2));
+        assertEquals(expected, describe(LinovelibParser.readCatalog(new StringReader(html), CATALOG_URL, null)));
+    }
+
+    /**
+     * 卷和章節逐行列出，便於比較和顯示差異
+     */
+    private static List<String> describe(List<Volume> volumes) {
+        List<String> lines = new ArrayList<>();
+        for (Volume volume : volumes) {
+            lines.add("# " + volume.getVolumeId() + " " + volume.getVolumeName());
+            for (Chapter chapter : volume.getChapters()) {
+                lines.add(chapter.getChapterId() + " " + chapter.getChapterTitle() + " " + chapter.getChapterUrl());
+            }
+        }
+        return lines;
+    }
+
+    private static ChapterContent chapter(String body) {
+        Document doc = Jsoup.parse("<html><body><h1>第一章</h1><div id=\"acontent\">" + body + "</div></body></html>",
+                HOST + "/novel/1/2.html");
+        return LinovelibParser.parseChapterContent(Collections.singletonList(doc));
+    }
+}
@@ -0,0 +1,151 @@
+package com.linovelib.reader.util;
+
+import org.jsoup.nodes.Document;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * 以改寫前的正則和 jsoup 的 absUrl 為準，對隨機生成的 URL 比較 LinovelibUrls 的結果
+ */
+public class LinovelibUrlsTest {
+    private static final int ITERATIONS = 200_000;
+
+    // 改寫前各處使用的正則 (replaceAll 未匹配時原樣返回，這裡以 null 表示)
+    private static final Pattern OLD_NOVEL_ID = Pattern.compile(".*/novel/(\\d+)\\.html.*");
+    private static final Pattern OLD_CHAPTER_ID = Pattern.compile(".*novel/\\d+/(\\d+)(_\\d+)?\\.html.*");
+    private static final Pattern OLD_PAGE_URL = Pattern.compile("(.*/novel/\\d+/\\d+)_(\\d+)\\.html");
+    private static final Pattern OLD_DETAIL_PATH = Pattern.compile("/novel/\\d+\\.html");
+    private static final Pattern OLD_CATALOG_PATH = Pattern.compile("/novel/\\d+/catalog");
+    private static final Pattern OLD_CHAPTER_PATH = Pattern.compile("/novel/\\d+/\\d+(_\\d+)?\\.html");
+
+    private static final String[] TOKENS = {
+            "https://", "http://", "tw.linovelib.com", "www.linovelib.com:443", "127.0.0.1:8080",
+            "/", "//", "novel/", "/novel/", "lightnovel/", "novel", "/novel",
+            "0", "1", "42", "4649", "269999", "2147483647", "99999999999",
+            "_", "_2", "_10", ".html", ".htm", ".html?x=1", "catalog", "/catalog",
+            "?", "#", "#top", "a", "b.jpg", ".", "..", "./", "../", " ", "%20", "\\", "é", "中",
+            "mailto:", "a,b:", "?page=2",
+    };
+    private static final String[] BASES = {
+            "https://tw.linovelib.com/novel/4649/catalog",
+            "https://tw.linovelib.com/novel/4649/269999.html",
+            "https://tw.linovelib.com/",
+            "https://tw.linovelib.com",
+            "http://127.0.0.1:8080/novel/4649.html?page=2",
+            "",
+            "not a url",
+    };
+
+    @Test
+    public void novelIdMatchesOldRegex() {
+        Random random = new Random(1);
+        for (int i = 0; i < ITERATIONS; i++) {
+            String url = randomUrl(random);
+            assertEquals(url, group(OLD_NOVEL_ID, url, 1), LinovelibUrls.novelId(url));
+        }
+    }
+
+    @Test
+    public void chapterIdMatchesOldRegex() {
+        Random random = new Random(2);
+        for (int i = 0; i < ITERATIONS; i++) {
+            String url = randomUrl(random);
+            assertEquals(url, group(OLD_CHAPTER_ID, url, 1), LinovelibUrls.chapterId(url));
+        }
+    }
+
+    @Test
+    public void followingPageUrlMatchesOldMatcher() {
+        Random random = new Random(3);
+        for (int i = 0; i < ITERATIONS; i++) {
+            String url = randomUrl(random);
+            assertEquals(url, oldFollowingPageUrl(url), LinovelibUrls.followingPageUrl(url));
+        }
+    }
+
+    @Test
+    public void pathChecksMatchOldPatterns() {
+        Random random = new Random(4);
+        for (int i = 0; i < ITERATIONS; i++) {
+            String path = "/" + randomUrl(random);
+            assertEquals(path, OLD_DETAIL_PATH.matcher(path).matches(), LinovelibUrls.isDetailPath(path));
+            assertEquals(path, OLD_CATALOG_PATH.matcher(path).matches(), LinovelibUrls.isCatalogPath(path));
+            assertEquals(path, OLD_CHAPTER_PATH.matcher(path).matches(), LinovelibUrls.isChapterPath(path));
+        }
+    }
+
+    @Test
+    public void resolveMatchesAbsUrl() {
+        Random random = new Random(5);
+        for (int i = 0; i < ITERATIONS; i++) {
+            String base = BASES[random.nextInt(BASES.length)];
+            String url = randomUrl(random);
+            assertEquals(base + " + " + url, oldResolve(base, url), LinovelibUrls.resolve(base, url));
+        }
+    }
+
+    @Test
+    public void resolveEdgeCases() {
+        String base = BASES[1];
+        assertEquals("https://tw.linovelib.com/novel/4649/269999.html?page=2", LinovelibUrls.resolve(base, "?page=2"));
+        assertEquals("https://tw.linovelib.com/a.jpg", LinovelibUrls.resolve(base, "../../../a.jpg"));
+        assertEquals("https://tw.linovelib.com/novel/4649/a.jpg", LinovelibUrls.resolve(base, "a\n.jpg"));
+        assertEquals("mailto:x@example.com", LinovelibUrls.resolve(base, "mailto:x@example.com"));
+        assertEquals("https://tw.linovelib.com/", LinovelibUrls.resolve("not a url", "https://tw.linovelib.com/"));
+        assertEquals("", LinovelibUrls.resolve("not a url", "novel/1.html"));
+    }
+
+    @Test
+    public void relativeNovelPaths() {
+        assertEquals("269999", LinovelibUrls.chapterId("novel/4649/269999.html"));
+        assertEquals("269999", LinovelibUrls.chapterId("novel/4649/269999_2.html"));
+        assertEquals("269999", LinovelibUrls.chapterId("lightnovel/4649/269999.html"));
+        assertEquals("4649", LinovelibUrls.novelId("/novel/4649.html"));
+        // 詳情頁和分頁的原正則要求前導斜線
+        assertNull(LinovelibUrls.novelId("novel/4649.html"));
+        assertNull(LinovelibUrls.followingPageUrl("novel/4649/269999_2.html"));
+        assertEquals("https://tw.linovelib.com/novel/4649/novel/4649/269999.html",
+                LinovelibUrls.resolve(BASES[0], "novel/4649/269999.html"));
+    }
+
+    private static String randomUrl(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int count = 1 + random.nextInt(8);
+        for (int i = 0; i < count; i++) {
+            sb.append(TOKENS[random.nextInt(TOKENS.length)]);
+        }
+        return sb.toString();
+    }
+
+    private static String group(Pattern pattern, String input, int group) {
+        Matcher matcher = pattern.matcher(input);
+        return matcher.matches() ? matcher.group(group) : null;
+    }
+
+    private static String oldFollowingPageUrl(String url) {
+        Matcher matcher = OLD_PAGE_URL.matcher(url);
+        if (!matcher.matches()) {
+            return null;
+        }
+        // 有意的差異：原先超過 int 範圍的頁碼會拋出 NumberFormatException，現在超過 9 位即不視為分頁
+        if (matcher.group(2).length() > 9) {
+            return null;
+        }
+        int pageNumber = Integer.parseInt(matcher.group(2));
+        return matcher.group(1) + "_" + (pageNumber + 1) + ".html";
+    }
+
+    private static String oldResolve(String baseUri, String url) {
+        if (url.isEmpty() || url.startsWith("http")) {
+            return url;
+        }
+        Document doc = new Document(baseUri);
+        return doc.appendElement("a").attr("href", url).absUrl("href");
+    }
+}